@@ -1,15 +1,25 @@
 package framework.annotation;
 
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
 import framework.annotation.RestController;
 
 // Utilitaires déplacés
 import framework.utilitaire.ConfigLoader;
 import framework.utilitaire.ClassScanner;
+import framework.utilitaire.RouteDefinition;
+import framework.utilitaire.RouteIndex;
+import framework.utilitaire.RouteTable;
 import framework.utilitaire.UrlMappingRegistry;
 import framework.utilitaire.MappingInfo;
+import framework.utilitaire.RouteMatch;
 
 /**
  * Service principal pour la gestion des annotations
@@ -21,10 +31,9 @@ public class AnnotationReader {
     // Dépendances (Dependency Injection)
     private static final ConfigLoader configLoader = new ConfigLoader();
     private static final ClassScanner classScanner = new ClassScanner();
-    private static final UrlMappingRegistry urlRegistry = new UrlMappingRegistry();
-    
-    
-    
+
+    // Registre publié une seule fois, entièrement construit (lecture volatile sur le chemin des requêtes)
+    private static volatile UrlMappingRegistry urlRegistry;
     
     /**
      * Filtre les classes qui ont des méthodes avec @GetMapping
@@ -98,25 +107,147 @@ public class AnnotationReader {
     /**
      * Initialise le système en scannant toutes les URLs au démarrage
      * Coordonne les différents composants: ConfigLoader, ClassScanner, UrlMappingRegistry
+     * Appelé une seule fois (FrontServlet.init); les appels suivants ne font rien.
      */
     public static void init() {
-        if (urlRegistry.isInitialized()) {
-            System.out.println("AnnotationReader déjà initialisé.");
-            return;
+        registry();
+    }
+
+    /**
+     * Retourne le registre publié, en le construisant au premier appel.
+     * Le registre est construit entièrement puis publié par une écriture volatile:
+     * deux premières requêtes concurrentes ne peuvent pas le construire deux fois.
+     */
+    private static UrlMappingRegistry registry() {
+        UrlMappingRegistry registry = urlRegistry;
+        if (registry != null) {
+            return registry;
         }
-        
-        System.out.println("Initialisation du système de mapping d'URLs...");
-        
-        // 1. Charger la configuration
-        configLoader.loadConfiguration();
-        String basePackage = configLoader.getBasePackage();
-        
-        // 2. Scanner les classes du package
-        List<Class<?>> classes = classScanner.scanPackage(basePackage);
-        System.out.println("Classes avec @Controller découvertes: " + classes.size());
-        
-        // 3. Construire le registre des URLs
-        urlRegistry.buildRegistry(classes);
+        synchronized (AnnotationReader.class) {
+            if (urlRegistry != null) {
+                return urlRegistry;
+            }
+
+            System.out.println("Initialisation du système de mapping d'URLs...");
+
+            // 1. Charger la configuration
+            configLoader.loadConfiguration();
+            String basePackage = configLoader.getBasePackage();
+
+            // 2. Scan des classes du package: routes reprises de la table générée à la compilation,
+            //    puis de l'index persistant, sinon analysées par réflexion
+            Map<String, List<RouteDefinition>> generated = configLoader.isRouteTableEnabled()
+                    ? loadGeneratedRoutes(basePackage) : null;
+            List<RouteDefinition> routes = loadRoutes(basePackage, generated);
+
+            // 3. Construire le registre des URLs, puis le publier
+            registry = new UrlMappingRegistry();
+            registry.buildRoutes(routes);
+            urlRegistry = registry;
+            return registry;
+        }
+    }
+
+    /**
+     * Charge les routes des tables générées par RouteProcessor (ServiceLoader), limitées au package
+     * de base et groupées par contrôleur.
+     * @return les routes par nom de contrôleur, ou null si aucune table n'est disponible
+     *         ou si une table référence une classe ou méthode disparue
+     */
+    private static Map<String, List<RouteDefinition>> loadGeneratedRoutes(String basePackage) {
+        String prefix = basePackage.isEmpty() ? "" : basePackage + ".";
+        Map<String, List<RouteDefinition>> routesByClass = new HashMap<>();
+        boolean found = false;
+        try {
+            for (RouteTable table : ServiceLoader.load(RouteTable.class, ClassScanner.defaultClassLoader())) {
+                found = true;
+                for (RouteDefinition route : table.routes()) {
+                    String controller = route.getControllerClass().getName();
+                    if (controller.startsWith(prefix)) {
+                        routesByClass.computeIfAbsent(controller, k -> new ArrayList<>()).add(route);
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException | ServiceConfigurationError | LinkageError e) {
+            System.out.println("Table de routes générée ignorée (" + e + "), scan du classpath.");
+            return null;
+        }
+        return found ? routesByClass : null;
+    }
+
+    /**
+     * Découvre les routes du package. Les contrôleurs présents dans la table générée en reprennent
+     * les routes; ceux dont le fichier .class n'a pas changé depuis le dernier démarrage sont repris
+     * de l'index (seules leurs méthodes sont résolues); les autres (nouveaux, modifiés, ou compilés
+     * sans le processeur) sont chargés et analysés par réflexion. L'index est réécrit si besoin.
+     * Un contrôleur recompilé sans le processeur garde les routes de la table: régénérer la table
+     * en recompilant tous les contrôleurs, ou la désactiver (route.table.enabled=false).
+     * @param generated routes de la table générée par contrôleur, ou null
+     */
+    private static List<RouteDefinition> loadRoutes(String basePackage, Map<String, List<RouteDefinition>> generated) {
+        ClassLoader cl = ClassScanner.defaultClassLoader();
+        Path indexPath = configLoader.isRouteIndexEnabled() ? RouteIndex.locate(cl, basePackage) : null;
+        RouteIndex previous = RouteIndex.read(indexPath, basePackage);
+
+        List<ClassScanner.ClassFile> files = classScanner.scanClassFiles(basePackage, previous);
+
+        // Contrôleurs inchangés: résolution directe depuis l'index
+        Map<String, List<RouteDefinition>> routesByClass = new TreeMap<>();
+        List<String> changed = new ArrayList<>();
+        int fromTable = 0;
+        for (ClassScanner.ClassFile file : files) {
+            String controller = file.getControllerName();
+            if (controller == null) continue;
+            List<RouteDefinition> defs = generated != null ? generated.get(controller) : null;
+            if (defs != null) {
+                fromTable++;
+            } else if (!file.isInspected() && previous != null) {
+                defs = previous.resolve(controller, cl);
+            }
+            if (defs != null) {
+                routesByClass.put(controller, defs);
+            } else {
+                changed.add(controller);
+            }
+        }
+
+        // Contrôleurs nouveaux ou modifiés: chargement et analyse par réflexion
+        for (Class<?> clazz : classScanner.loadControllers(changed)) {
+            routesByClass.put(clazz.getName(), UrlMappingRegistry.collectRoutes(clazz));
+        }
+        System.out.println("Classes avec @Controller découvertes: " + routesByClass.size()
+                + " (" + changed.size() + " analysée(s), " + fromTable + " depuis la table générée, "
+                + (routesByClass.size() - changed.size() - fromTable) + " depuis l'index)");
+
+        if (indexPath != null && (previous == null || previous.getFingerprint() != RouteIndex.fingerprint(files)
+                || !changed.isEmpty())) {
+            try {
+                RouteIndex.of(basePackage, files, routesByClass).write(indexPath);
+            } catch (Exception e) {
+                System.out.println("Impossible d'écrire l'index de routes " + indexPath + ": " + e.getMessage());
+            }
+        }
+
+        List<RouteDefinition> routes = new ArrayList<>();
+        for (List<RouteDefinition> defs : routesByClass.values()) {
+            routes.addAll(defs);
+        }
+        return routes;
+    }
+
+    /**
+     * Configuration chargée au démarrage (partagée, ne relit pas config.properties)
+     */
+    public static ConfigLoader getConfig() {
+        registry();
+        return configLoader;
+    }
+
+    /**
+     * Registre courant (initialise le système si nécessaire)
+     */
+    public static UrlMappingRegistry getRegistry() {
+        return registry();
     }
     
     /**
@@ -135,15 +266,18 @@ public class AnnotationReader {
      * @return MappingInfo ou un objet vide si non trouvé (404). Si la ressource existe mais la méthode n'est pas autorisée, renvoie MappingInfo avec methodNotAllowed=true
      */
     public static MappingInfo findMappingByUrl(String url, String httpMethod) {
-        if (!urlRegistry.isInitialized()) {
-            System.out.println("ATTENTION: AnnotationReader n'est pas initialisé. Appelez init() au démarrage.");
-            init();
-        }
-
-        MappingInfo info = urlRegistry.findByUrl(url, httpMethod);
+        MappingInfo info = registry().findByUrl(url, httpMethod);
         return info != null ? info : new MappingInfo();
     }
     
+    /**
+     * Recherche la route pour une URL et une méthode HTTP (chemin critique du dispatch)
+     * @return RouteMatch trouvé, 405, ou RouteMatch.NOT_FOUND
+     */
+    public static RouteMatch match(String url, String httpMethod) {
+        return registry().match(url, httpMethod);
+    }
+    
     /**
      * Affiche les informations de mapping pour une URL donnée
      * @param url L'URL à rechercher
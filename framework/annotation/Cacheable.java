@@ -0,0 +1,23 @@
+package framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Met en cache la réponse complète (octets déjà sérialisés) d'une méthode GET idempotente.
+ * La clé est la route plus les valeurs nommées dans key() (variables de chemin ou paramètres
+ * de requête); sans key(), toutes les variables de chemin et la query string complète.
+ * Seules les réponses 200 sans en-tête ni cookie posé par le contrôleur sont conservées;
+ * ignorée sur une route @Auth (la réponse serait partagée entre utilisateurs).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+    /** Durée de vie d'une entrée, en secondes */
+    int ttl() default 60;
+
+    /** Noms des variables de chemin / paramètres de requête composant la clé */
+    String[] key() default {};
+}
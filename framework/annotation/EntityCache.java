@@ -0,0 +1,25 @@
+package framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Met en cache les objets obtenus par la factory statique d'un type (fromId, valueOf...)
+ * lors des conversions String -> type (liaison de formulaires, paramètres).
+ * Cache borné (éviction LRU) avec durée de vie; les recherches simultanées d'un même identifiant
+ * ne déclenchent qu'un seul appel de la factory.
+ * Invalidation: ConversionService.invalidateEntity / invalidateEntities.
+ * Réservé aux types immuables (champs d'instance tous final): la même instance est rendue à toutes
+ * les requêtes et à tous les contrôleurs. Sur un type modifiable l'annotation est ignorée (avertissement au démarrage).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EntityCache {
+    /** Nombre maximal d'identifiants conservés */
+    int maxSize() default 1000;
+
+    /** Durée de vie d'une entrée, en secondes */
+    int ttl() default 300;
+}
@@ -0,0 +1,16 @@
+package framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre lié depuis le corps JSON de la requête (lecture en flux, limites json.max.depth / json.max.bytes).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestBody {
+    /** Corps vide refusé (400) si true, null sinon */
+    boolean required() default true;
+}
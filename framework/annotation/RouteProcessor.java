@@ -0,0 +1,304 @@
+package framework.annotation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Processeur d'annotations optionnel: génère à la compilation une table de routes
+ * (GeneratedRouteTable, implémentation de framework.utilitaire.RouteTable) et sa déclaration
+ * META-INF/services, pour que AnnotationReader n'ait plus à analyser les contrôleurs par réflexion.
+ *
+ * Pour chaque méthode mappée, la table contient l'URL complète, la méthode HTTP, @Auth résolu,
+ * le mode JSON, les noms des variables du template et une lambda d'appel direct
+ * (seulement si la classe et la méthode sont publiques).
+ *
+ * Activation: javac -processor framework.annotation.RouteProcessor, en compilant
+ * TOUS les contrôleurs dans la même invocation (la table ne contient que les classes compilées;
+ * les autres contrôleurs du classpath sont analysés au démarrage).
+ * Les règles reproduisent UrlMappingRegistry.collectRoutes.
+ */
+@SupportedAnnotationTypes({"framework.annotation.Controller", "framework.annotation.RestController"})
+public class RouteProcessor extends AbstractProcessor {
+
+    public static final String TABLE_NAME = "GeneratedRouteTable";
+    private static final String SERVICE_FILE = "META-INF/services/framework.utilitaire.RouteTable";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+        Set<TypeElement> controllers = new LinkedHashSet<>();
+        for (Element e : roundEnv.getElementsAnnotatedWith(Controller.class)) {
+            if (e.getKind() == ElementKind.CLASS) controllers.add((TypeElement) e);
+        }
+        for (Element e : roundEnv.getElementsAnnotatedWith(RestController.class)) {
+            if (e.getKind() == ElementKind.CLASS) controllers.add((TypeElement) e);
+        }
+        if (controllers.isEmpty()) {
+            return false;
+        }
+        generated = true;
+
+        String pkg = commonPackage(controllers);
+        String className = pkg.isEmpty() ? TABLE_NAME : pkg + "." + TABLE_NAME;
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(className,
+                    controllers.toArray(new Element[0]));
+            try (Writer w = source.openWriter()) {
+                w.write(generateSource(pkg, controllers));
+            }
+            FileObject service = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer w = service.openWriter()) {
+                w.write(className + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Impossible de générer la table de routes: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private String generateSource(String pkg, Set<TypeElement> controllers) {
+        StringBuilder sb = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("@javax.annotation.processing.Generated(\"").append(RouteProcessor.class.getName()).append("\")\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(TABLE_NAME).append(" implements framework.utilitaire.RouteTable {\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public java.util.List<framework.utilitaire.RouteDefinition> routes() throws ReflectiveOperationException {\n");
+        sb.append("        java.util.List<framework.utilitaire.RouteDefinition> routes = new java.util.ArrayList<>();\n");
+
+        int index = 0;
+        for (TypeElement controller : controllers) {
+            String type = controller.getQualifiedName().toString();
+            String var = "c" + index++;
+            sb.append("        Class<?> ").append(var).append(" = ").append(type).append(".class;\n");
+            for (Route route : collectRoutes(controller)) {
+                sb.append("        routes.add(new framework.utilitaire.RouteDefinition(").append(var).append(", ")
+                        .append(var).append(".getDeclaredMethod(").append(literal(route.method.getSimpleName().toString()));
+                for (VariableElement p : route.method.getParameters()) {
+                    sb.append(", ").append(erasure(p.asType())).append(".class");
+                }
+                sb.append("),\n                ")
+                        .append(literal(route.url)).append(", ")
+                        .append(literal(route.httpMethod)).append(", ")
+                        .append(route.authRole == null ? "null" : literal(route.authRole)).append(", ")
+                        .append(route.responseBody).append(",\n                new String[] {");
+                List<String> names = variableNames(route.url);
+                for (int i = 0; i < names.size(); i++) {
+                    if (i > 0) sb.append(", ");
+                    sb.append(literal(names.get(i)));
+                }
+                sb.append("},\n                ").append(invoker(controller, route.method)).append("));\n");
+            }
+        }
+        sb.append("        return routes;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Mêmes règles que UrlMappingRegistry.collectRoutes, appliquées au modèle de compilation
+     */
+    private List<Route> collectRoutes(TypeElement controller) {
+        String baseUrl = "";
+        RequestMapping classMapping = controller.getAnnotation(RequestMapping.class);
+        if (classMapping != null) {
+            baseUrl = classMapping.value();
+            if (baseUrl.endsWith("/")) {
+                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+            }
+        }
+        boolean restController = controller.getAnnotation(RestController.class) != null;
+        Auth classAuth = controller.getAnnotation(Auth.class);
+
+        List<Route> routes = new ArrayList<>();
+        for (Element e : controller.getEnclosedElements()) {
+            if (e.getKind() != ElementKind.METHOD) continue;
+            ExecutableElement method = (ExecutableElement) e;
+
+            String urlPart;
+            String httpMethod;
+            GetMapping get = method.getAnnotation(GetMapping.class);
+            PostMapping post = method.getAnnotation(PostMapping.class);
+            RequestMapping request = method.getAnnotation(RequestMapping.class);
+            if (get != null) {
+                urlPart = get.value();
+                httpMethod = "GET";
+            } else if (post != null) {
+                urlPart = post.value();
+                httpMethod = "POST";
+            } else if (request != null) {
+                urlPart = request.value();
+                String m = request.method();
+                httpMethod = m != null && !m.trim().isEmpty() ? m.trim().toUpperCase() : "*";
+            } else {
+                continue;
+            }
+            if (!urlPart.startsWith("/")) urlPart = "/" + urlPart;
+
+            Auth auth = method.getAnnotation(Auth.class) != null ? method.getAnnotation(Auth.class) : classAuth;
+            String authRole = auth == null ? null : (auth.value() == null ? "" : auth.value());
+            boolean responseBody = restController || method.getAnnotation(ResponseBody.class) != null;
+            routes.add(new Route(method, baseUrl + urlPart, httpMethod, authRole, responseBody));
+        }
+        return routes;
+    }
+
+    /**
+     * Lambda d'appel direct, ou "null" si la méthode n'est pas accessible depuis la table générée
+     * (la route passera alors par la réflexion)
+     */
+    private String invoker(TypeElement controller, ExecutableElement method) {
+        if (!isAccessible(controller) || !method.getModifiers().contains(Modifier.PUBLIC)) {
+            return "null";
+        }
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            // RouteInvoker.invoke ne déclare que Exception
+            if (!processingEnv.getTypeUtils().isAssignable(thrown,
+                    processingEnv.getElementUtils().getTypeElement("java.lang.Exception").asType())) {
+                return "null";
+            }
+        }
+
+        String type = controller.getQualifiedName().toString();
+        StringBuilder call = new StringBuilder();
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            call.append(type);
+        } else {
+            call.append("((").append(type).append(") c)");
+        }
+        call.append('.').append(method.getSimpleName()).append('(');
+        List<? extends VariableElement> params = method.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) call.append(", ");
+            call.append('(').append(erasure(params.get(i).asType())).append(") a[").append(i).append(']');
+        }
+        call.append(')');
+
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            return "(c, a) -> { " + call + "; return null; }";
+        }
+        return "(c, a) -> " + call;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        Element e = type;
+        while (e instanceof TypeElement) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) return false;
+            if (((TypeElement) e).getNestingKind() == NestingKind.MEMBER && !e.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            e = e.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * Package commun le plus long des contrôleurs: la table y est générée
+     */
+    private String commonPackage(Set<TypeElement> controllers) {
+        String common = null;
+        for (TypeElement c : controllers) {
+            String pkg = processingEnv.getElementUtils().getPackageOf(c).getQualifiedName().toString();
+            if (common == null) {
+                common = pkg;
+                continue;
+            }
+            while (!common.isEmpty() && !pkg.equals(common) && !pkg.startsWith(common + ".")) {
+                int dot = common.lastIndexOf('.');
+                common = dot < 0 ? "" : common.substring(0, dot);
+            }
+        }
+        return common == null ? "" : common;
+    }
+
+    /**
+     * Noms des variables d'un template (même analyse que RouteTrie.variableNames)
+     */
+    private static List<String> variableNames(String template) {
+        List<String> names = new ArrayList<>();
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) break;
+            names.add(template.substring(open + 1, close).trim());
+            open = template.indexOf('{', close + 1);
+        }
+        return names;
+    }
+
+    private static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c > 0x7E) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static final class Route {
+        final ExecutableElement method;
+        final String url;
+        final String httpMethod;
+        final String authRole;
+        final boolean responseBody;
+
+        Route(ExecutableElement method, String url, String httpMethod, String authRole, boolean responseBody) {
+            this.method = method;
+            this.url = url;
+            this.httpMethod = httpMethod;
+            this.authRole = authRole;
+            this.responseBody = responseBody;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cycle de vie des instances d'un contrôleur.
+ * Sans cette annotation: SINGLETON si la classe n'a aucun champ d'instance (contrôleur sans état),
+ * PROTOTYPE sinon (une instance par appel, comportement historique).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scope {
+
+    Type value() default Type.SINGLETON;
+
+    /** Nombre maximal d'instances pour POOLED (les appels au-delà attendent une instance libre) */
+    int poolSize() default 8;
+
+    /** Attente maximale d'une instance libre pour POOLED, en millisecondes (au-delà: 503) */
+    long acquireTimeout() default 5000;
+
+    enum Type {
+        /** Une seule instance, créée au démarrage et partagée par toutes les requêtes (doit être thread-safe) */
+        SINGLETON,
+        /** Une nouvelle instance à chaque appel */
+        PROTOTYPE,
+        /** Une instance par requête HTTP (réutilisée si la requête est redistribuée) */
+        REQUEST,
+        /** Instances réutilisées depuis un pool borné, une requête à la fois par instance */
+        POOLED
+    }
+}
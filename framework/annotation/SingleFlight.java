@@ -0,0 +1,25 @@
+package framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Regroupe les requêtes GET identiques simultanées: une seule invocation du contrôleur (la première),
+ * les suivantes attendent son résultat sérialisé et le renvoient tel quel.
+ * Clé: route + valeurs nommées dans key() (variables de chemin ou paramètres de requête);
+ * sans key(), toutes les variables de chemin et la query string.
+ * Au-delà de timeout() une requête en attente appelle le contrôleur elle-même;
+ * une exception du contrôleur est renvoyée à toutes les requêtes regroupées.
+ * Ignorée sur une route @Auth (la réponse serait partagée entre utilisateurs).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+    /** Noms des variables de chemin / paramètres de requête composant la clé */
+    String[] key() default {};
+
+    /** Attente maximale du résultat de la requête en cours, en millisecondes */
+    long timeout() default 5000;
+}
@@ -0,0 +1,285 @@
+package framework.servlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import framework.http.MultipartFile;
+import framework.session.Session;
+import framework.session.SessionManager;
+import framework.utilitaire.BeanBindingPlan;
+import framework.utilitaire.BeanValidator;
+import framework.utilitaire.BindingSource;
+import framework.utilitaire.JsonBinder;
+import framework.utilitaire.JsonReader;
+import framework.utilitaire.MultiValueParsers;
+import framework.utilitaire.ParameterInfo;
+import framework.utilitaire.RouteDescriptor;
+import framework.utilitaire.RouteMatch;
+import framework.utilitaire.ScalarParsers;
+import framework.utilitaire.ValidationResult;
+
+/**
+ * Construit, une seule fois par route, le tableau de résolveurs d'arguments d'une méthode contrôleur.
+ * Chaque case est spécialisée selon les métadonnées du paramètre (ParameterInfo):
+ * requête/réponse/session, variable de chemin (index pré-calculé), paramètre typé avec défaut,
+ * fichier multipart, objet @ModelAttribute (validé selon ses contraintes), corps JSON @RequestBody, ValidationResult.
+ * La conversion String -> type est choisie ici, pas par requête.
+ */
+public final class ArgumentResolvers {
+
+    // Tableau partagé pour les méthodes sans paramètre (jamais modifié par les invokers)
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final HandlerArgumentResolver REQUEST = (req, resp, match) -> req;
+    private static final HandlerArgumentResolver RESPONSE = (req, resp, match) -> resp;
+    private static final HandlerArgumentResolver SESSION = (req, resp, match) -> SessionManager.getOrCreate(req, resp);
+    private static final HandlerArgumentResolver VALIDATION_RESULT = (req, resp, match) -> validationResult(req);
+    // Paramètre sans annotation ni type injectable: pas de liaison implicite (mode strict)
+    private static final HandlerArgumentResolver NULL = (req, resp, match) -> null;
+
+    // Résultat de validation partagé par les @ModelAttribute et le paramètre ValidationResult d'une même requête
+    static final String ATTR_VALIDATION_RESULT = "framework.validationResult";
+
+    private ArgumentResolvers() {
+    }
+
+    /** Résolveurs des paramètres d'une route du registre */
+    public static HandlerArgumentResolver[] forRoute(RouteDescriptor route) {
+        ParameterInfo[] params = new ParameterInfo[route.getParameterCount()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = route.getParameter(i);
+        }
+        return forParameters(params);
+    }
+
+    private static HandlerArgumentResolver[] forParameters(ParameterInfo[] params) {
+        // Un handler qui reçoit le ValidationResult traite lui-même les erreurs; sinon objet invalide -> 400
+        boolean exposesResult = false;
+        for (ParameterInfo param : params) {
+            if (param.getType() == ValidationResult.class) exposesResult = true;
+        }
+        HandlerArgumentResolver[] resolvers = new HandlerArgumentResolver[params.length];
+        for (int i = 0; i < params.length; i++) {
+            resolvers[i] = forParameter(params[i], exposesResult);
+        }
+        return resolvers;
+    }
+
+    /**
+     * Exécute les résolveurs.
+     * @return les arguments, dans l'ordre des paramètres
+     */
+    public static Object[] resolve(HandlerArgumentResolver[] resolvers, HttpServletRequest req,
+                                   HttpServletResponse resp, RouteMatch match) throws Exception {
+        if (resolvers.length == 0) return NO_ARGS;
+        Object[] args = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            args[i] = resolvers[i].resolve(req, resp, match);
+        }
+        return args;
+    }
+
+    static HandlerArgumentResolver forParameter(ParameterInfo param, boolean exposesResult) {
+        Class<?> type = param.getType();
+        String name = param.getName();
+        switch (param.getKind()) {
+            case MODEL_ATTRIBUTE: {
+                // @ModelAttribute binding (objet complet à partir des paramètres du formulaire, plan résolu une fois)
+                BeanBindingPlan plan = BeanBindingPlan.of(type);
+                BeanValidator validator = BeanValidator.of(type);
+                if (!validator.hasConstraints()) {
+                    return (req, resp, match) -> bindModelAttribute(plan, req);
+                }
+                return (req, resp, match) -> {
+                    Object target = bindModelAttribute(plan, req);
+                    validate(validator, target, req, exposesResult);
+                    return target;
+                };
+            }
+
+            case PATH_VARIABLE: {
+                int index = param.getPathVariableIndex();
+                ScalarParsers.Parser parser = parserFor(type);
+                String missing = "Missing path variable: " + name;
+                return (req, resp, match) -> {
+                    String val = match == null ? null : match.getPathValue(index);
+                    if (val == null) throw new MissingArgumentException(missing);
+                    return parser.parse(val);
+                };
+            }
+
+            case REQUEST_PARAM: {
+                boolean required = param.isRequired();
+                if (type == MultipartFile.class) {
+                    // Support for file upload parameters
+                    String missing = "Missing required file parameter: " + name;
+                    return (req, resp, match) -> {
+                        MultipartFile file = resolveMultipartFile(req, name);
+                        if ((file == null || file.isEmpty()) && required) throw new MissingArgumentException(missing);
+                        return file;
+                    };
+                }
+                String defaultValue = param.getDefaultValue();
+                String missing = "Missing required parameter: " + name;
+                MultiValueParsers.Parser multi = MultiValueParsers.parserFor(type, param.getGenericType());
+                if (multi != null) {
+                    // Tableau ou collection: toutes les valeurs du paramètre, délimitées ou répétées
+                    String[] defaultValues = { defaultValue };
+                    return (req, resp, match) -> {
+                        String[] values = getParameterValuesSmart(req, name);
+                        if (values == null) {
+                            if (required) throw new MissingArgumentException(missing);
+                            values = defaultValues;
+                        }
+                        return multi.parse(values);
+                    };
+                }
+                ScalarParsers.Parser parser = parserFor(type);
+                return (req, resp, match) -> {
+                    String raw = getParameterSmart(req, name);
+                    if (raw == null) {
+                        if (required) throw new MissingArgumentException(missing);
+                        raw = defaultValue;
+                    }
+                    return parser.parse(raw);
+                };
+            }
+
+            case REQUEST_BODY: {
+                // Corps JSON lu en flux et lié au fil de la lecture (jamais chargé en String)
+                boolean required = param.isRequired();
+                Type genericType = param.getGenericType();
+                Object emptyValue = type.isPrimitive() ? ScalarParsers.parserFor(type).parse(null) : null;
+                String missing = "Missing request body";
+                return (req, resp, match) -> {
+                    long length = req.getContentLengthLong();
+                    if (length > JsonBinder.getMaxBytes()) {
+                        throw new JsonReader.JsonException("JSON body exceeds " + JsonBinder.getMaxBytes() + " bytes", true, null);
+                    }
+                    String encoding = req.getCharacterEncoding();
+                    Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+                    Object body = length == 0 ? null : JsonBinder.read(req.getInputStream(), charset, type, genericType);
+                    if (body == null) {
+                        if (required) throw new MissingArgumentException(missing);
+                        return emptyValue;
+                    }
+                    return body;
+                };
+            }
+
+            default:
+                // Injection of servlet objects
+                if (type == HttpServletRequest.class) return REQUEST;
+                if (type == HttpServletResponse.class) return RESPONSE;
+                if (type == Session.class) return SESSION;
+                if (type == ValidationResult.class) return VALIDATION_RESULT;
+                return NULL;
+        }
+    }
+
+    /**
+     * Conversion texte -> type choisie une fois par paramètre (noyau partagé ScalarParsers:
+     * vide -> 0/false pour les primitifs, null pour les wrappers; type non scalaire -> null)
+     */
+    static ScalarParsers.Parser parserFor(Class<?> type) {
+        ScalarParsers.Parser parser = ScalarParsers.parserFor(type);
+        return parser != null ? parser : UNSUPPORTED;
+    }
+
+    private static final ScalarParsers.Parser UNSUPPORTED = (text, start, end) -> null;
+
+    static Object bindModelAttribute(BeanBindingPlan plan, HttpServletRequest req) {
+        try {
+            Object target = plan.instantiate();
+            plan.bind(target, new RequestBindingSource(req), null);
+            return target;
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to bind @ModelAttribute for type " + plan.getType().getName(), t);
+        }
+    }
+
+    /**
+     * Valide l'objet lié dans le ValidationResult de la requête.
+     * @throws ValidationException objet invalide et aucun paramètre ValidationResult pour le recevoir
+     */
+    static void validate(BeanValidator validator, Object target, HttpServletRequest req, boolean exposesResult)
+            throws ValidationException {
+        ValidationResult result = validationResult(req);
+        boolean failFast = BeanValidator.isFailFast();
+        // Fail-fast: une erreur déjà relevée sur un autre objet suffit
+        if (failFast && !result.isValid()) return;
+        if (!validator.validate(target, result, failFast) && !exposesResult) {
+            throw new ValidationException(result);
+        }
+    }
+
+    static ValidationResult validationResult(HttpServletRequest req) {
+        ValidationResult result = (ValidationResult) req.getAttribute(ATTR_VALIDATION_RESULT);
+        if (result == null) {
+            result = new ValidationResult();
+            req.setAttribute(ATTR_VALIDATION_RESULT, result);
+        }
+        return result;
+    }
+
+    /** Paramètres de la requête (champs texte multipart compris) et fichiers envoyés */
+    private static final class RequestBindingSource implements BindingSource {
+        private final HttpServletRequest req;
+
+        RequestBindingSource(HttpServletRequest req) {
+            this.req = req;
+        }
+
+        @Override
+        public Iterable<String> getNames() {
+            if (!MultipartIndex.isMultipart(req)) {
+                return req.getParameterMap().keySet();
+            }
+            // Multipart: noms des champs texte et fichiers
+            return MultipartIndex.of(req).getNames();
+        }
+
+        @Override
+        public String getValue(String name) {
+            return getParameterSmart(req, name);
+        }
+
+        @Override
+        public String[] getValues(String name) {
+            return getParameterValuesSmart(req, name);
+        }
+
+        @Override
+        public Object getObject(String name, Class<?> type) {
+            if (type != MultipartFile.class) return null;
+            MultipartFile file = resolveMultipartFile(req, name);
+            return file != null && !file.isEmpty() ? file : null;
+        }
+    }
+
+    static String getParameterSmart(HttpServletRequest req, String name) {
+        // Requête classique: utiliser getParameter normalement
+        if (!MultipartIndex.isMultipart(req)) {
+            return req.getParameter(name);
+        }
+        // Requête multipart: champs texte décodés une fois par requête
+        return MultipartIndex.of(req).getValue(name);
+    }
+
+    /** Toutes les valeurs du paramètre (null si absent), champs texte multipart compris */
+    static String[] getParameterValuesSmart(HttpServletRequest req, String name) {
+        if (!MultipartIndex.isMultipart(req)) {
+            return req.getParameterValues(name);
+        }
+        return MultipartIndex.of(req).getValues(name);
+    }
+
+    static MultipartFile resolveMultipartFile(HttpServletRequest req, String paramName) {
+        if (!MultipartIndex.isMultipart(req)) {
+            return null;
+        }
+        return MultipartIndex.of(req).getFile(paramName);
+    }
+}
@@ -0,0 +1,23 @@
+package framework.servlet;
+
+/**
+ * Réponse complète obtenue par une capture (CapturingResponse): statut, type, ETag et corps.
+ * Immuable, donc transmissible telle quelle aux requêtes regroupées (@SingleFlight) ou au cache.
+ */
+final class CapturedResponse {
+
+    final int status;
+    final String contentType;
+    final String etag;
+    final byte[] body;
+    // Partageable entre clients: 200 sans en-tête ni cookie posé par le contrôleur
+    final boolean shareable;
+
+    CapturedResponse(CapturingResponse capture) {
+        this.status = capture.getStatus();
+        this.contentType = capture.getContentType();
+        this.etag = capture.getETag();
+        this.body = capture.toByteArray();
+        this.shareable = capture.isShareable();
+    }
+}
@@ -0,0 +1,200 @@
+package framework.servlet;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Réponse enveloppée qui retient le corps en mémoire au lieu de l'envoyer
+ * (utilisée pour mettre en cache la sortie d'une méthode @Cacheable, vue JSP comprise).
+ * Statut, type et en-têtes passent directement à la réponse réelle; tout en-tête ou cookie
+ * posé pendant la capture rend la réponse non partageable entre clients.
+ */
+final class CapturingResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+    private int status = SC_OK;
+    private boolean headersTouched;
+    private String etag;
+
+    CapturingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /** Corps capturé (writer vidé au préalable) */
+    byte[] toByteArray() {
+        if (writer != null) writer.flush();
+        return buffer.toByteArray();
+    }
+
+    /** ETag posé par le rendu JSON (dérivé du contenu: n'empêche pas le partage), null sinon */
+    String getETag() {
+        return etag;
+    }
+
+    /** true si la réponse peut être servie telle quelle à d'autres clients */
+    boolean isShareable() {
+        return status == SC_OK && !headersTouched;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) throw new IllegalStateException("getWriter() a déjà été appelé");
+        if (stream == null) {
+            stream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    // Flux bloquant d'une requête non asynchrone: contrat de ServletOutputStream
+                    throw new IllegalStateException("setWriteListener is only supported in async mode");
+                }
+            };
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (stream != null) throw new IllegalStateException("getOutputStream() a déjà été appelé");
+        if (writer == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(buffer, charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+        super.setStatus(sc);
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        status = sc;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        status = sc;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        status = SC_FOUND;
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("ETag".equalsIgnoreCase(name)) {
+            etag = value;
+        } else {
+            headersTouched = true;
+        }
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headersTouched = true;
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        headersTouched = true;
+        super.setDateHeader(name, date);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        headersTouched = true;
+        super.addDateHeader(name, date);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        headersTouched = true;
+        super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        headersTouched = true;
+        super.addIntHeader(name, value);
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        headersTouched = true;
+        super.addCookie(cookie);
+    }
+
+    // La longueur est fixée par le servlet une fois le corps complet
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) writer.flush();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) writer.flush();
+        buffer.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetBuffer();
+        status = SC_OK;
+        headersTouched = false;
+        etag = null;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+}
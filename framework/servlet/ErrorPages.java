@@ -0,0 +1,296 @@
+package framework.servlet;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import framework.utilitaire.ConfigLoader;
+
+/**
+ * Responsable des réponses d'erreur du servlet (400, 403, 404, 405, 500).
+ * Les parties fixes de chaque page sont encodées en UTF-8 une seule fois au chargement de la classe;
+ * à chaque requête seules les parties variables (chemin, méthodes autorisées, rôle, message)
+ * sont échappées et encodées dans un tampon réutilisé par thread, puis écrites en un bloc
+ * via getOutputStream avec un Content-Length exact.
+ * Une application peut associer une vue à un code (error.view.404=erreurs/404 dans config.properties,
+ * ou register()): la requête est alors transmise à la vue, les autres codes gardent le chemin rapide.
+ */
+public final class ErrorPages {
+
+    /** Attributs de requête disponibles dans une vue d'erreur personnalisée */
+    public static final String ATTR_STATUS = "errorStatus";
+    public static final String ATTR_PATH = "errorPath";
+    public static final String ATTR_MESSAGE = "errorMessage";
+    public static final String ATTR_ALLOWED_METHODS = "allowedMethods";
+
+    private static final String HTML = "text/html; charset=UTF-8";
+    private static final String TEXT = "text/plain; charset=UTF-8";
+
+    private static final String ERROR_STYLE = "<style>body{font-family:Arial, sans-serif;padding:32px;color:#333} h1{color:#b00020}</style>";
+
+    private static final byte[] NOT_FOUND = utf8("<html><head><meta charset='UTF-8'><title>404 - Non trouvé</title>"
+            + ERROR_STYLE + "</head><body>\n"
+            + "<h1>404 - Ressource non trouvée</h1>\n"
+            + "<p>La ressource demandée n'a pas été trouvée.</p>\n"
+            + "</body></html>\n");
+
+    private static final byte[] UNAUTHENTICATED = utf8(
+            "<h1>403 Forbidden</h1><p>Vous devez être authentifié pour accéder à cette ressource.</p>\n");
+
+    private static final Template FORBIDDEN_ROLE = Template.html(
+            "<h1>403 Forbidden</h1><p>Accès refusé : rôle <b>", "</b> requis.</p>\n");
+
+    // Variables: chemin, méthode HTTP, méthodes autorisées, chemin de contexte
+    private static final Template METHOD_NOT_ALLOWED = Template.html(
+            "<html><head><meta charset='UTF-8'><title>405 - Method Not Allowed</title>" + ERROR_STYLE + "</head><body>\n"
+                    + "<h1>405 - Method Not Allowed</h1>\n"
+                    + "<p>The requested URL <code>",
+            "</code> exists but the HTTP method <strong>",
+            "</strong> is not allowed.</p>\n<p>Allowed methods: <code>",
+            "</code></p>\n<p><a href='",
+            "'>Return to application root</a></p>\n</body></html>\n");
+
+    /** Message texte suivi d'un saut de ligne (400, paramètre manquant) */
+    public static final Template MESSAGE = Template.text("", "\n");
+    public static final Template INVOCATION_ERROR = Template.text("Erreur lors de l'invocation du contrôleur: ", "\n");
+    public static final Template CONVENTION_ERROR = Template.text("Erreur lors de la résolution conventionnelle: ", "\n");
+
+    // Au-delà, le tampon d'un thread n'est pas conservé (message d'erreur exceptionnellement long)
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private final Map<Integer, String> views = new ConcurrentHashMap<>();
+    private final ConfigLoader config;
+
+    public ErrorPages(ConfigLoader config) {
+        this.config = config;
+        if (config != null) {
+            views.putAll(config.getErrorViews());
+        }
+    }
+
+    /**
+     * Associe une vue (nom logique, résolu avec view.prefix/view.suffix) à un code d'erreur
+     */
+    public void register(int status, String viewName) {
+        views.put(status, viewName);
+    }
+
+    public void notFound(HttpServletRequest req, HttpServletResponse resp, String path)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_NOT_FOUND, path, null)) return;
+        send(resp, HttpServletResponse.SC_NOT_FOUND, HTML, NOT_FOUND, NOT_FOUND.length);
+    }
+
+    public void methodNotAllowed(HttpServletRequest req, HttpServletResponse resp, String path, String allowHeader)
+            throws ServletException, IOException {
+        resp.setHeader("Allow", allowHeader);
+        if (views.containsKey(HttpServletResponse.SC_METHOD_NOT_ALLOWED)) {
+            req.setAttribute(ATTR_ALLOWED_METHODS, allowHeader);
+        }
+        if (forwardToView(req, resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED, path, null)) return;
+        Buffer buf = METHOD_NOT_ALLOWED.render(path, req.getMethod(), allowHeader, req.getContextPath());
+        send(resp, HttpServletResponse.SC_METHOD_NOT_ALLOWED, HTML, buf.bytes, buf.size);
+    }
+
+    /** 403: authentification requise */
+    public void unauthenticated(HttpServletRequest req, HttpServletResponse resp, String path)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_FORBIDDEN, path, null)) return;
+        send(resp, HttpServletResponse.SC_FORBIDDEN, HTML, UNAUTHENTICATED, UNAUTHENTICATED.length);
+    }
+
+    /** 403: rôle insuffisant */
+    public void forbiddenRole(HttpServletRequest req, HttpServletResponse resp, String path, String requiredRole)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_FORBIDDEN, path, requiredRole)) return;
+        Buffer buf = FORBIDDEN_ROLE.render(requiredRole);
+        send(resp, HttpServletResponse.SC_FORBIDDEN, HTML, buf.bytes, buf.size);
+    }
+
+    /** 400: argument manquant ou invalide, message en texte brut */
+    public void badRequest(HttpServletRequest req, HttpServletResponse resp, String path, String message)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_BAD_REQUEST, path, message)) return;
+        Buffer buf = MESSAGE.render(message);
+        send(resp, HttpServletResponse.SC_BAD_REQUEST, TEXT, buf.bytes, buf.size);
+    }
+
+    /** 413: corps de requête au-delà de la limite configurée, message en texte brut */
+    public void payloadTooLarge(HttpServletRequest req, HttpServletResponse resp, String path, String message)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, path, message)) return;
+        Buffer buf = MESSAGE.render(message);
+        send(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, TEXT, buf.bytes, buf.size);
+    }
+
+    /** 503: contrôleur momentanément indisponible (pool épuisé), message en texte brut */
+    public void serviceUnavailable(HttpServletRequest req, HttpServletResponse resp, String path, String message)
+            throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE, path, message)) return;
+        Buffer buf = MESSAGE.render(message);
+        send(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE, TEXT, buf.bytes, buf.size);
+    }
+
+    /** 500: message en texte brut précédé du préfixe du modèle */
+    public void serverError(HttpServletRequest req, HttpServletResponse resp, String path, Template template,
+                            String message) throws ServletException, IOException {
+        if (forwardToView(req, resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, path, message)) return;
+        Buffer buf = template.render(message);
+        send(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, TEXT, buf.bytes, buf.size);
+    }
+
+    private boolean forwardToView(HttpServletRequest req, HttpServletResponse resp, int status, String path,
+                                  String message) throws ServletException, IOException {
+        if (views.isEmpty()) return false;
+        String view = views.get(status);
+        if (view == null) return false;
+
+        resp.setStatus(status);
+        req.setAttribute(ATTR_STATUS, status);
+        req.setAttribute(ATTR_PATH, path);
+        req.setAttribute(ATTR_MESSAGE, message);
+        RequestDispatcher dispatcher = req.getRequestDispatcher(config.getViewPrefix() + view + config.getViewSuffix());
+        if (dispatcher == null) return false;
+        dispatcher.forward(req, resp);
+        return true;
+    }
+
+    private static void send(HttpServletResponse resp, int status, String contentType, byte[] body, int length)
+            throws IOException {
+        resp.setStatus(status);
+        resp.setContentType(contentType);
+        ServletOutputStream out;
+        try {
+            out = resp.getOutputStream();
+        } catch (IllegalStateException e) {
+            // Le contrôleur a déjà utilisé getWriter(): longueur inconnue, écrire par le writer
+            resp.getWriter().write(new String(body, 0, length, StandardCharsets.UTF_8));
+            return;
+        }
+        resp.setContentLength(length);
+        out.write(body, 0, length);
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Page pré-encodée: parties fixes en octets, une variable entre deux parties consécutives
+     */
+    public static final class Template {
+        private final byte[][] parts;
+        private final boolean escapeHtml;
+
+        private Template(boolean escapeHtml, String... parts) {
+            this.escapeHtml = escapeHtml;
+            this.parts = new byte[parts.length][];
+            for (int i = 0; i < parts.length; i++) {
+                this.parts[i] = utf8(parts[i]);
+            }
+        }
+
+        /** Modèle HTML: les variables sont échappées */
+        public static Template html(String... parts) {
+            return new Template(true, parts);
+        }
+
+        /** Modèle texte brut: les variables sont écrites telles quelles */
+        public static Template text(String... parts) {
+            return new Template(false, parts);
+        }
+
+        /**
+         * Assemble la page dans le tampon du thread courant (valide jusqu'au prochain rendu du thread)
+         */
+        Buffer render(String... values) {
+            Buffer buf = BUFFERS.get();
+            if (buf.bytes.length > MAX_RETAINED_BUFFER) {
+                buf = new Buffer();
+                BUFFERS.set(buf);
+            }
+            buf.size = 0;
+            for (int i = 0; i < parts.length; i++) {
+                buf.write(parts[i]);
+                if (i < values.length && i < parts.length - 1) {
+                    buf.writeUtf8(values[i], escapeHtml);
+                }
+            }
+            return buf;
+        }
+    }
+
+    /**
+     * Tampon d'octets extensible, réutilisé d'une requête à l'autre sur un même thread
+     */
+    static final class Buffer {
+        byte[] bytes = new byte[1024];
+        int size;
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        /** Encode la chaîne en UTF-8 (échappement HTML optionnel); null est écrit "null" */
+        void writeUtf8(String s, boolean escapeHtml) {
+            if (s == null) s = "null";
+            // Pire cas: entité de 6 octets par caractère ("&quot;")
+            ensure(s.length() * 6);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (escapeHtml) {
+                    String entity = entity(c);
+                    if (entity != null) {
+                        for (int k = 0; k < entity.length(); k++) bytes[size++] = (byte) entity.charAt(k);
+                        continue;
+                    }
+                }
+                if (c < 0x80) {
+                    bytes[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | (c >> 6));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    bytes[size++] = (byte) (0xF0 | (cp >> 18));
+                    bytes[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Surrogate isolé: remplacé par '?' comme String.getBytes
+                    bytes[size++] = '?';
+                } else {
+                    bytes[size++] = (byte) (0xE0 | (c >> 12));
+                    bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static String entity(char c) {
+            switch (c) {
+                case '<': return "&lt;";
+                case '>': return "&gt;";
+                case '&': return "&amp;";
+                case '"': return "&quot;";
+                case '\'': return "&#39;";
+                default: return null;
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -5,29 +5,88 @@ import jakarta.servlet.http.*;
 import jakarta.servlet.annotation.MultipartConfig;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.InputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.HashMap;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import framework.annotation.AnnotationReader;
-import framework.annotation.RequestParam;
-import framework.annotation.PathVariable;
-import framework.annotation.ModelAttribute;
-import framework.utilitaire.MappingInfo;
+import framework.annotation.Scope;
+import framework.utilitaire.CachePolicy;
+import framework.utilitaire.RouteDescriptor;
+import framework.utilitaire.RouteMatch;
+import framework.utilitaire.BeanBindingPlan;
 import framework.utilitaire.ConfigLoader;
+import framework.utilitaire.ControllerProvider;
+import framework.utilitaire.ETags;
+import framework.utilitaire.ConventionRouteTable;
 import framework.utilitaire.MethodInvoker;
 import framework.utilitaire.ModelAndView;
-import framework.utilitaire.ConversionService;
+import framework.utilitaire.BeanValidator;
+import framework.utilitaire.JsonBinder;
+import framework.utilitaire.JsonReader;
 import framework.utilitaire.JsonSerializer;
-import framework.annotation.RestController;
-import framework.annotation.ResponseBody;
-import framework.http.MultipartFile;
+import framework.utilitaire.RequestCoalescer;
+import framework.utilitaire.ResponseCache;
+import framework.utilitaire.RouteKey;
+import framework.utilitaire.SingleFlightPolicy;
+import framework.utilitaire.Versioned;
 import framework.session.Session;
 import framework.session.SessionManager;
 
 @MultipartConfig(fileSizeThreshold = 10485760, maxFileSize = 20971520, maxRequestSize = 41943040)
 public class FrontServlet extends HttpServlet {
 
+    private ConfigLoader config;
+
+    private static final String REQUEST_SCOPE_PREFIX = "framework.controller.";
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // Exécutions en cours des routes @SingleFlight, par clé de requête
+    private final RequestCoalescer<CapturedResponse> coalescer = new RequestCoalescer<>();
+
+    // ETag / 304 sur les réponses JSON (etag.enabled)
+    private boolean etagEnabled;
+
+    // Pages d'erreur pré-encodées (ou vues personnalisées par code)
+    private ErrorPages errorPages;
+
+    // Résolveurs d'arguments pré-calculés, indexés par identifiant de descripteur
+    private HandlerArgumentResolver[][] routeResolvers;
+    // Routes conventionnelles /{section}/{method}, résolues à la demande puis mémorisées
+    private ConventionRouteTable conventionRoutes;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        // Amorçage unique: scan + registre publiés avant la première requête
+        AnnotationReader.init();
+        config = AnnotationReader.getConfig();
+
+        List<RouteDescriptor> descriptors = AnnotationReader.getRegistry().getDescriptors();
+        HandlerArgumentResolver[][] resolvers = new HandlerArgumentResolver[descriptors.size()][];
+        for (RouteDescriptor route : descriptors) {
+            resolvers[route.getId()] = ArgumentResolvers.forRoute(route);
+        }
+        routeResolvers = resolvers;
+        errorPages = new ErrorPages(config);
+        etagEnabled = config.isEtagEnabled();
+        ResponseCache.getInstance().setMaxBytes(config.getResponseCacheMaxBytes());
+        BeanBindingPlan.setAutoGrowLimit(config.getBindingAutoGrowLimit());
+        JsonBinder.setLimits(config.getJsonMaxDepth(), config.getJsonMaxBytes());
+        BeanValidator.setFailFast(config.isValidationFailFast());
+        conventionRoutes = new ConventionRouteTable(config.getBasePackage(), FrontServlet.class.getClassLoader());
+    }
+
+    /** Résolveurs d'une route (calculés à la volée si le servlet n'a pas été initialisé) */
+    private HandlerArgumentResolver[] resolversFor(RouteDescriptor route) {
+        HandlerArgumentResolver[][] table = routeResolvers;
+        int id = route.getId();
+        if (table != null && id < table.length && table[id] != null) {
+            return table[id];
+        }
+        return ArgumentResolvers.forRoute(route);
+    }
+
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException {
@@ -36,176 +95,102 @@ public class FrontServlet extends HttpServlet {
         String contextPath = req.getContextPath();
         String resourcePath = urlPath.startsWith(contextPath) ? urlPath.substring(contextPath.length()) : urlPath;
 
-        // Initialiser l'annotation/mapping si nécessaire
-        AnnotationReader.init();
-
         // Essayer de retrouver un mapping pour la ressource demandée
-        MappingInfo mapping = AnnotationReader.findMappingByUrl(resourcePath, req.getMethod());
-        if (mapping == null)
-            mapping = new MappingInfo();
-
-        if (mapping.isMethodNotAllowed()) {
-            // Return 405 Method Not Allowed with Allow header and a friendly HTML page
-            resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
-            java.util.Set<String> allowed = mapping.getAllowedMethods();
-            String allowHeader = String.join(", ", allowed);
-            resp.setHeader("Allow", allowHeader);
-            resp.setContentType("text/html; charset=UTF-8");
-            java.io.PrintWriter out = resp.getWriter();
-            out.println("<html><head><meta charset='UTF-8'><title>405 - Method Not Allowed</title>"
-                    + "<style>body{font-family:Arial, sans-serif;padding:32px;color:#333} h1{color:#b00020}</style></head><body>");
-            out.println("<h1>405 - Method Not Allowed</h1>");
-            out.println("<p>The requested URL <code>" + resourcePath + "</code> exists but the HTTP method <strong>"
-                    + req.getMethod() + "</strong> is not allowed.</p>");
-            out.println("<p>Allowed methods: <code>" + allowHeader + "</code></p>");
-            out.println("<p><a href='" + req.getContextPath() + "'>Return to application root</a></p>");
-            out.println("</body></html>");
+        RouteMatch match = AnnotationReader.match(resourcePath, req.getMethod());
+
+        if (match.isMethodNotAllowed()) {
+            // 405 Method Not Allowed avec en-tête Allow (page pré-encodée)
+            errorPages.methodNotAllowed(req, resp, resourcePath, match.getAllowHeader());
             return;
         }
 
-        if (mapping.isFound()) {
+        if (match.isFound()) {
+            RouteDescriptor route = match.getDescriptor();
             try {
-                // Vérification de l'autorisation @Auth
-                framework.annotation.Auth auth = mapping.getAuthAnnotation();
-                if (auth != null) {
+                // Vérification de l'autorisation @Auth (résolue au démarrage)
+                if (route.isAuthRequired()) {
                     Session session = SessionManager.getOrCreate(req, resp);
-                    ConfigLoader cfg = new ConfigLoader();
-                    String authKey = cfg.getAuthSessionKey();
-                    String roleKey = cfg.getAuthRoleKey();
+                    String authKey = config.getAuthSessionKey();
+                    String roleKey = config.getAuthRoleKey();
 
                     Object authValue = session.get(authKey);
                     if (authValue == null) {
-                        resp.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                        resp.setContentType("text/html; charset=UTF-8");
-                        resp.getWriter().println("<h1>403 Forbidden</h1><p>Vous devez être authentifié pour accéder à cette ressource.</p>");
+                        errorPages.unauthenticated(req, resp, resourcePath);
                         return;
                     }
 
-                    String requiredRole = auth.value();
-                    if (requiredRole != null && !requiredRole.isEmpty()) {
+                    String requiredRole = route.getRequiredRole();
+                    if (!requiredRole.isEmpty()) {
                         Object userRole = session.get(roleKey);
                         if (userRole == null || !requiredRole.equals(userRole.toString())) {
-                            resp.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                            resp.setContentType("text/html; charset=UTF-8");
-                            resp.getWriter().println("<h1>403 Forbidden</h1><p>Accès refusé : rôle <b>" + requiredRole + "</b> requis.</p>");
+                            errorPages.forbiddenRole(req, resp, resourcePath, requiredRole);
                             return;
                         }
                     }
                 }
 
-                Class<?> controller = mapping.getControllerClass();
-                Object instance = controller.getDeclaredConstructor().newInstance();
-                // Resolve method parameters (GET only) using @RequestParam and simple injection
-                java.lang.reflect.Method method = mapping.getMethod();
-                java.lang.reflect.Parameter[] parameters = method.getParameters();
-                Object[] args = new Object[parameters.length];
-
-                for (int i = 0; i < parameters.length; i++) {
-                    Class<?> type = parameters[i].getType();
-                    // Injection of servlet objects
-                    if (type == HttpServletRequest.class) {
-                        args[i] = req;
-                        continue;
-                    }
-                    if (type == HttpServletResponse.class) {
-                        args[i] = resp;
-                        continue;
-                    }
-                    if (type == Session.class) {
-                        args[i] = SessionManager.getOrCreate(req, resp);
-                        continue;
-                    }
-
-                    // @ModelAttribute binding (objet complet à partir des paramètres du formulaire)
-                    ModelAttribute ma = parameters[i].getAnnotation(ModelAttribute.class);
-                    if (ma != null) {
-                        Object bound = bindModelAttribute(type, req);
-                        args[i] = bound;
-                        continue;
-                    }
-
-                    // PathVariable binding
-                    PathVariable pv = parameters[i].getAnnotation(PathVariable.class);
-                    if (pv != null) {
-                        String varName = pv.value();
-                        String val = mapping.getPathVariables().get(varName);
-                        if (val == null) {
-                            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                            resp.setContentType("text/plain; charset=UTF-8");
-                            resp.getWriter().println("Missing path variable: " + varName);
-                            return;
-                        }
-                        args[i] = convertSimple(val, type);
-                        continue;
-                    }
-
-                    RequestParam rp = parameters[i].getAnnotation(RequestParam.class);
-                    if (rp != null) {
-                        String paramName = rp.value();
-                        if (paramName == null || paramName.isEmpty()) {
-                            // If not provided, fallback to Java parameter name (requires -parameters)
-                            paramName = parameters[i].getName();
-                        }
-                        // Support for file upload parameters
-                        if (type == MultipartFile.class) {
-                            MultipartFile file = resolveMultipartFile(req, paramName);
-                            if (file == null || file.isEmpty()) {
-                                if (rp.required()) {
-                                    resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                                    resp.setContentType("text/plain; charset=UTF-8");
-                                    resp.getWriter().println("Missing required file parameter: " + paramName);
-                                    return;
-                                }
-                            }
-                            args[i] = file;
-                        } else {
-                            String raw = getParameterSmart(req, paramName);
-                            if (raw == null) {
-                                if (rp.required()) {
-                                    resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                                    resp.setContentType("text/plain; charset=UTF-8");
-                                    resp.getWriter().println("Missing required parameter: " + paramName);
-                                    return;
-                                } else {
-                                    raw = rp.defaultValue();
-                                }
-                            }
-                            args[i] = convertSimple(raw, type);
-                        }
-                        continue;
-                    }
-
-                    // If not annotated, do not bind implicitly (strict mode)
-
-                    // Otherwise leave null (unsupported type without binder)
-                    args[i] = null;
+                // Réponse en cache (@Cacheable) ou partagée entre requêtes identiques (@SingleFlight)
+                CachePolicy cachePolicy = route.getCachePolicy();
+                SingleFlightPolicy flightPolicy = route.getSingleFlightPolicy();
+                if (cachePolicy != null || flightPolicy != null) {
+                    handleShared(route, cachePolicy, flightPolicy, match, req, resp);
+                } else {
+                    handle(route, match, req, resp, true);
                 }
+                return;
+            } catch (MissingArgumentException e) {
+                errorPages.badRequest(req, resp, resourcePath, e.getMessage());
+                return;
+            } catch (ValidationException e) {
+                // @ModelAttribute invalide sans ValidationResult dans la signature
+                errorPages.badRequest(req, resp, resourcePath, e.getMessage());
+                return;
+            } catch (ControllerProvider.PoolExhaustedException e) {
+                errorPages.serviceUnavailable(req, resp, resourcePath, e.getMessage());
+                return;
+            } catch (JsonReader.JsonException e) {
+                // Corps @RequestBody invalide (400) ou trop volumineux (413)
+                if (e.isTooLarge()) {
+                    errorPages.payloadTooLarge(req, resp, resourcePath, e.getMessage());
+                } else {
+                    errorPages.badRequest(req, resp, resourcePath, e.getMessage());
+                }
+                return;
+            } catch (Exception e) {
+                // En cas d'erreur d'invocation, renvoyer 500
+                e.printStackTrace();
+                errorPages.serverError(req, resp, resourcePath, ErrorPages.INVOCATION_ERROR, e.getMessage());
+                return;
+            }
+        }
 
-                Object result = method.invoke(instance, args);
-
-                // Vérifier si c'est un RestController ou si la méthode a @ResponseBody
-                boolean isRestController = controller.isAnnotationPresent(RestController.class);
-                boolean hasResponseBody = method.isAnnotationPresent(ResponseBody.class);
-
-                if (isRestController || hasResponseBody) {
-                    // Retourner du JSON
-                    resp.setStatus(HttpServletResponse.SC_OK);
-                    resp.setContentType("application/json; charset=UTF-8");
-                    PrintWriter out = resp.getWriter();
-                    String json = JsonSerializer.toJson(result);
-                    out.println(json);
-                    return;
+        // Aucun mapping par annotations: essayer une convention simple
+        // Convention: /{section}/{method} ->
+        // {basePackage}.{section}.AdminController#{method}()
+        // Table résolue une fois par section; sections inconnues en cache négatif (ni réflexion ni exception)
+        ConventionRouteTable.Route convention = conventionRoutes.find(resourcePath);
+        if (convention != null) {
+            try {
+                Class<?> controllerClazz = convention.getControllerClass();
+                Method method = convention.getMethod();
+
+                // Même fournisseur (et donc même singleton) que les routes annotées de la classe
+                ControllerProvider provider = convention.getProvider();
+                Object instance = acquireController(provider, controllerClazz, req);
+                Object result;
+                try {
+                    result = MethodInvoker.invoke(instance, method, NO_ARGS);
+                } finally {
+                    provider.release(instance);
                 }
 
-                // Si la méthode retourne un ModelAndView, forward vers la vue
+                // Gestion ModelAndView en conventionnel également
                 if (result instanceof ModelAndView) {
-                    ConfigLoader cfg = new ConfigLoader();
-                    String prefix = cfg.getViewPrefix();
-                    String suffix = cfg.getViewSuffix();
+                    String prefix = config.getViewPrefix();
+                    String suffix = config.getViewSuffix();
                     ModelAndView mv = (ModelAndView) result;
                     String viewPath = prefix + mv.getViewName() + suffix;
 
-                    // Attacher le modèle sur la requête
                     for (Map.Entry<String, Object> entry : mv.getModel().entrySet()) {
                         req.setAttribute(entry.getKey(), entry.getValue());
                     }
@@ -221,224 +206,254 @@ public class FrontServlet extends HttpServlet {
                 out.println("<html><head><meta charset='UTF-8'><title>Résultat</title>"
                         + "<style>body{font-family:Arial, sans-serif;padding:24px} code{background:#f5f5f5;padding:2px 4px;border-radius:4px}</style>"
                         + "</head><body>");
-                out.println("<h2>Mapping trouvé</h2>");
+                out.println("<h2>Convention mapping</h2>");
                 out.println("<ul>");
-                out.println("  <li>Classe: <code>" + controller.getSimpleName() + "</code></li>");
-                out.println("  <li>Méthode: <code>" + mapping.getMethod().getName() + "</code></li>");
+                out.println("  <li>Classe: <code>" + controllerClazz.getSimpleName() + "</code></li>");
+                out.println("  <li>Méthode: <code>" + method.getName() + "</code></li>");
                 out.println("</ul>");
                 out.println("<h3>Résultat</h3>");
                 out.println("<div>" + String.valueOf(result) + "</div>");
                 out.println("</body></html>");
                 return;
-            } catch (Exception e) {
-                // En cas d'erreur d'invocation, renvoyer 500
-                e.printStackTrace();
-                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                resp.setContentType("text/plain; charset=UTF-8");
-                resp.getWriter().println("Erreur lors de l'invocation du contrôleur: " + e.getMessage());
+            } catch (ControllerProvider.PoolExhaustedException e) {
+                errorPages.serviceUnavailable(req, resp, resourcePath, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                // Erreur d'invocation -> considérer comme non trouvé
+                // et tomber en 404
+            } catch (Throwable t) {
+                t.printStackTrace();
+                errorPages.serverError(req, resp, resourcePath, ErrorPages.CONVENTION_ERROR, t.getMessage());
                 return;
             }
         }
 
-        // Aucun mapping par annotations: essayer une convention simple
-        // Convention: /{section}/{method} ->
-        // {basePackage}.{section}.AdminController#{method}()
+        // Toujours rien: renvoyer un 404 propre (sans trace: chemin emprunté par les scans d'URL)
+        errorPages.notFound(req, resp, resourcePath);
+    }
+
+    /**
+     * Appelle la méthode de la route et écrit sa réponse (JSON, vue ou page HTML)
+     * @param conditional true pour répondre 304 à un If-None-Match correspondant (false pendant une capture:
+     *                    le corps complet doit être obtenu pour le cache)
+     */
+    private void handle(RouteDescriptor route, RouteMatch match, HttpServletRequest req, HttpServletResponse resp,
+                        boolean conditional) throws Exception {
+        Class<?> controller = route.getControllerClass();
+        Method method = route.getMethod();
+        // Arguments: exécution du tableau de résolveurs pré-calculé pour la route
+        Object[] args = ArgumentResolvers.resolve(resolversFor(route), req, resp, match);
+
+        // Instance selon le scope du contrôleur (singleton tenu par le descripteur, pool, requête...)
+        ControllerProvider provider = route.getControllerProvider();
+        Object instance = acquireController(provider, controller, req);
+        Object result;
         try {
-            String path = resourcePath;
-            if (path.startsWith("/"))
-                path = path.substring(1);
-            String[] parts = path.split("/");
-            if (parts.length >= 2) {
-                String section = parts[0];
-                String methodName = parts[1];
-
-                ConfigLoader loader = new ConfigLoader();
-                String basePackage = loader.getBasePackage();
-                if (basePackage != null && !basePackage.isEmpty()) {
-                    String controllerFqn = basePackage + "." + section + ".AdminController";
-                    Class<?> controllerClazz = Class.forName(controllerFqn);
-                    Object instance = controllerClazz.getDeclaredConstructor().newInstance();
-                    Object result = MethodInvoker.execute(instance, methodName, new Class[] {}, new Object[] {});
-
-                    // Gestion ModelAndView en conventionnel également
-                    if (result instanceof ModelAndView) {
-                        ConfigLoader cfg = new ConfigLoader();
-                        String prefix = cfg.getViewPrefix();
-                        String suffix = cfg.getViewSuffix();
-                        ModelAndView mv = (ModelAndView) result;
-                        String viewPath = prefix + mv.getViewName() + suffix;
-
-                        for (Map.Entry<String, Object> entry : mv.getModel().entrySet()) {
-                            req.setAttribute(entry.getKey(), entry.getValue());
-                        }
+            result = route.invoke(instance, args);
+        } finally {
+            if (provider != null) provider.release(instance);
+        }
 
-                        RequestDispatcher dispatcher = req.getRequestDispatcher(viewPath);
-                        dispatcher.forward(req, resp);
-                        return;
-                    }
+        // RestController ou @ResponseBody: drapeau résolu au démarrage
+        if (route.isResponseBody()) {
+            // Retourner du JSON (avec ETag pour les GET si activé)
+            writeJson(req, resp, result, conditional);
+            return;
+        }
 
-                    resp.setStatus(HttpServletResponse.SC_OK);
-                    resp.setContentType("text/html; charset=UTF-8");
-                    PrintWriter out = resp.getWriter();
-                    out.println("<html><head><meta charset='UTF-8'><title>Résultat</title>"
-                            + "<style>body{font-family:Arial, sans-serif;padding:24px} code{background:#f5f5f5;padding:2px 4px;border-radius:4px}</style>"
-                            + "</head><body>");
-                    out.println("<h2>Convention mapping</h2>");
-                    out.println("<ul>");
-                    out.println("  <li>Classe: <code>" + controllerClazz.getSimpleName() + "</code></li>");
-                    out.println("  <li>Méthode: <code>" + methodName + "</code></li>");
-                    out.println("</ul>");
-                    out.println("<h3>Résultat</h3>");
-                    out.println("<div>" + String.valueOf(result) + "</div>");
-                    out.println("</body></html>");
-                    return;
-                }
+        // Si la méthode retourne un ModelAndView, forward vers la vue
+        if (result instanceof ModelAndView) {
+            String prefix = config.getViewPrefix();
+            String suffix = config.getViewSuffix();
+            ModelAndView mv = (ModelAndView) result;
+            String viewPath = prefix + mv.getViewName() + suffix;
+
+            // Attacher le modèle sur la requête
+            for (Map.Entry<String, Object> entry : mv.getModel().entrySet()) {
+                req.setAttribute(entry.getKey(), entry.getValue());
             }
-        } catch (ClassNotFoundException e) {
-            // Ignorer, on tombera en 404
-        } catch (NoSuchMethodException e) {
-            // Méthode non trouvée -> 404
-        } catch (RuntimeException e) {
-            // Erreur d'invocation (ex: méthode inexistante) -> considérer comme non trouvé
-            // et tomber en 404
-        } catch (Throwable t) {
-            t.printStackTrace();
-            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            resp.setContentType("text/plain; charset=UTF-8");
-            resp.getWriter().println("Erreur lors de la résolution conventionnelle: " + t.getMessage());
+
+            RequestDispatcher dispatcher = req.getRequestDispatcher(viewPath);
+            dispatcher.forward(req, resp);
             return;
         }
 
-        // Toujours rien: renvoyer un 404 propre
-        System.out.println("FrontServlet: aucun mapping trouvé pour " + resourcePath);
-        resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        resp.setStatus(HttpServletResponse.SC_OK);
         resp.setContentType("text/html; charset=UTF-8");
         PrintWriter out = resp.getWriter();
-        out.println("<html><head><meta charset='UTF-8'><title>404 - Non trouvé</title>"
-                + "<style>body{font-family:Arial, sans-serif;padding:32px;color:#333} h1{color:#b00020}</style>"
+        out.println("<html><head><meta charset='UTF-8'><title>Résultat</title>"
+                + "<style>body{font-family:Arial, sans-serif;padding:24px} code{background:#f5f5f5;padding:2px 4px;border-radius:4px}</style>"
                 + "</head><body>");
-        out.println("<h1>404 - Ressource non trouvée</h1>");
-        out.println("<p>La ressource demandée n'a pas été trouvée.</p>");
+        out.println("<h2>Mapping trouvé</h2>");
+        out.println("<ul>");
+        out.println("  <li>Classe: <code>" + controller.getSimpleName() + "</code></li>");
+        out.println("  <li>Méthode: <code>" + method.getName() + "</code></li>");
+        out.println("</ul>");
+        out.println("<h3>Résultat</h3>");
+        out.println("<div>" + String.valueOf(result) + "</div>");
         out.println("</body></html>");
     }
 
-    private Object bindModelAttribute(Class<?> targetType, HttpServletRequest req) {
-        try {
-            Object target = targetType.getDeclaredConstructor().newInstance();
-            java.lang.reflect.Field[] fields = targetType.getDeclaredFields();
-
-            for (java.lang.reflect.Field field : fields) {
-                String name = field.getName();
-                Class<?> fieldType = field.getType();
-
-                field.setAccessible(true);
+    /**
+     * Routes @Cacheable et/ou @SingleFlight: réponse servie depuis le cache, sinon exécutée en capturant
+     * son corps (une seule fois pour des requêtes identiques simultanées) et conservée si elle est
+     * partageable (200, sans en-tête ni cookie posé par le contrôleur).
+     */
+    private void handleShared(RouteDescriptor route, CachePolicy cachePolicy, SingleFlightPolicy flightPolicy,
+                              RouteMatch match, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        ResponseCache cache = ResponseCache.getInstance();
+        String cacheKey = null;
+        if (cachePolicy != null) {
+            cacheKey = routeKey(route, cachePolicy.getKey(), match, req);
+            ResponseCache.Entry entry = cache.get(cacheKey);
+            if (entry != null) {
+                if (notModified(req, resp, entry.getETag())) return;
+                resp.setStatus(HttpServletResponse.SC_OK);
+                if (entry.getETag() != null) resp.setHeader("ETag", entry.getETag());
+                if (entry.getContentType() != null) resp.setContentType(entry.getContentType());
+                writeBody(resp, entry.getBody());
+                return;
+            }
+        }
 
-                if (fieldType == MultipartFile.class) {
-                    MultipartFile file = resolveMultipartFile(req, name);
-                    if (file != null && !file.isEmpty()) {
-                        field.set(target, file);
-                    }
+        String key = cacheKey;
+        boolean[] executed = new boolean[1];
+        RequestCoalescer.Task<CapturedResponse> task = () -> {
+            executed[0] = true;
+            CapturingResponse capture = new CapturingResponse(resp);
+            handle(route, match, req, capture, false);
+            CapturedResponse captured = new CapturedResponse(capture);
+            if (cachePolicy != null && captured.shareable) {
+                cache.put(route.getTemplate(), key, captured.contentType, captured.etag, captured.body,
+                        cachePolicy.getTtlMillis());
+            }
+            return captured;
+        };
+
+        CapturedResponse captured;
+        if (flightPolicy == null) {
+            captured = task.run();
+        } else {
+            String flightKey = routeKey(route, flightPolicy.getKey(), match, req);
+            captured = coalescer.execute(flightKey, flightPolicy.getTimeoutMillis(), task);
+            if (!executed[0]) {
+                if (captured.shareable) {
+                    // Résultat d'une autre requête: reporter statut, type et ETag sur cette réponse
+                    resp.setStatus(captured.status);
+                    if (captured.contentType != null) resp.setContentType(captured.contentType);
+                    if (captured.etag != null) resp.setHeader("ETag", captured.etag);
                 } else {
-                    String raw = getParameterSmart(req, name);
-                    if (raw != null) {
-                        Object converted = ConversionService.getInstance().convert(raw, fieldType);
-                        field.set(target, converted);
-                    }
+                    // Réponse propre à la requête qui l'a produite (cookie, redirection...): exécuter pour celle-ci
+                    captured = task.run();
                 }
             }
-
-            return target;
-        } catch (Throwable t) {
-            throw new RuntimeException("Failed to bind @ModelAttribute for type " + targetType.getName(), t);
         }
+
+        if (notModified(req, resp, captured.etag)) return;
+        writeBody(resp, captured.body);
     }
 
-    private String getParameterSmart(HttpServletRequest req, String name) {
-        String ct = req.getContentType();
-        // Requête classique: utiliser getParameter normalement
-        if (ct == null || !ct.toLowerCase().startsWith("multipart/")) {
-            return req.getParameter(name);
+    /**
+     * Sérialise le résultat en JSON. Pour un GET, ETag fort: version fournie par le résultat (Versioned),
+     * vérifiée avant toute sérialisation, sinon hachage des octets produits; If-None-Match -> 304 sans corps.
+     */
+    private void writeJson(HttpServletRequest req, HttpServletResponse resp, Object result, boolean conditional)
+            throws IOException {
+        boolean tagged = etagEnabled && isSafeMethod(req);
+        String etag = null;
+        if (tagged && result instanceof Versioned) {
+            String version = ((Versioned) result).getVersion();
+            if (version != null) {
+                etag = ETags.ofVersion(version);
+                if (conditional && notModified(req, resp, etag)) return;
+            }
         }
 
-        // Requête multipart: lire les champs texte via les Parts
-        try {
-            for (Part part : req.getParts()) {
-                if (!name.equals(part.getName()))
-                    continue;
-                // Champ texte: submittedFileName() == null
-                if (part.getSubmittedFileName() != null)
-                    continue;
-
-                // ✅ CORRECTION: lire et retourner immédiatement
-                try (InputStream in = part.getInputStream();
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    byte[] buffer = new byte[1024];
-                    int len;
-                    while ((len = in.read(buffer)) != -1) {
-                        baos.write(buffer, 0, len);
-                    }
-                    String charset = req.getCharacterEncoding() != null ? req.getCharacterEncoding() : "UTF-8";
-                    return baos.toString(charset);
-                }
-            }
-        } catch (IllegalStateException e) {
-            // Configuration multipart manquante ou requête trop grande
-            System.err.println("Erreur traitement multipart: " + e.getMessage());
-            return null;
-        } catch (Exception e) {
-            e.printStackTrace(); // Debug
-            return null; // ou gérer autrement
+        // Même corps qu'avec println (séparateur de ligne de la plateforme)
+        byte[] body = (JsonSerializer.toJson(result) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        if (tagged && etag == null) {
+            etag = ETags.of(body);
+            if (conditional && notModified(req, resp, etag)) return;
+        }
+
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("application/json; charset=UTF-8");
+        if (etag != null) resp.setHeader("ETag", etag);
+        writeBody(resp, body);
+    }
+
+    /**
+     * Répond 304 (sans corps, ETag rappelé) si l'ETag correspond à If-None-Match d'un GET/HEAD
+     */
+    private static boolean notModified(HttpServletRequest req, HttpServletResponse resp, String etag) {
+        if (etag == null || !isSafeMethod(req) || !ETags.matches(req.getHeader("If-None-Match"), etag)) {
+            return false;
         }
-        return null;
+        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        resp.setHeader("ETag", etag);
+        return true;
     }
 
-    private MultipartFile resolveMultipartFile(HttpServletRequest req, String paramName) {
-        String ct = req.getContentType();
-        if (ct == null || !ct.toLowerCase().startsWith("multipart/")) {
-            return null;
+    private static boolean isSafeMethod(HttpServletRequest req) {
+        String method = req.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    /**
+     * Clé d'une requête pour @Cacheable / @SingleFlight: template de la route puis valeurs nommées
+     * (variables de chemin ou paramètres de requête), ou toutes les variables de chemin et la query string
+     */
+    private static String routeKey(RouteDescriptor route, RouteKey spec, RouteMatch match, HttpServletRequest req) {
+        String[] values;
+        if (spec.isDefault()) {
+            int count = route.getVariableCount();
+            values = new String[count + 1];
+            for (int i = 0; i < count; i++) {
+                values[i] = match.getPathValue(i);
+            }
+            values[count] = req.getQueryString();
+        } else {
+            values = new String[spec.size()];
+            for (int i = 0; i < values.length; i++) {
+                int pathIndex = spec.getPathIndex(i);
+                values[i] = pathIndex >= 0 ? match.getPathValue(pathIndex) : req.getParameter(spec.getName(i));
+            }
         }
+        return ResponseCache.key(route.getTemplate(), values);
+    }
 
+    private static void writeBody(HttpServletResponse resp, byte[] body) throws IOException {
+        ServletOutputStream out;
         try {
-            for (Part part : req.getParts()) {
-                if (!paramName.equals(part.getName()))
-                    continue;
-                // Fichier: submittedFileName() != null
-                if (part.getSubmittedFileName() == null)
-                    continue;
-
-                // ✅ CORRECTION: créer et retourner immédiatement
-                MultipartFile file = new MultipartFile(paramName, part);
-                return file.isEmpty() ? null : file;
-            }
+            out = resp.getOutputStream();
         } catch (IllegalStateException e) {
-            System.err.println("Erreur traitement multipart (fichier): " + e.getMessage());
-            return null;
-        } catch (Exception e) {
-            e.printStackTrace(); // Debug
-            return null;
+            // Le contrôleur a déjà écrit par getWriter(): compléter par le writer, sans longueur
+            resp.getWriter().write(new String(body, StandardCharsets.UTF_8));
+            return;
         }
-        return null;
+        resp.setContentLength(body.length);
+        out.write(body);
     }
 
-    private Object convertSimple(String raw, Class<?> type) {
-        if (type == String.class)
-            return raw;
-        if (type == int.class)
-            return raw == null || raw.isEmpty() ? 0 : Integer.parseInt(raw);
-        if (type == Integer.class)
-            return raw == null || raw.isEmpty() ? null : Integer.valueOf(raw);
-        if (type == long.class)
-            return raw == null || raw.isEmpty() ? 0L : Long.parseLong(raw);
-        if (type == Long.class)
-            return raw == null || raw.isEmpty() ? null : Long.valueOf(raw);
-        if (type == double.class)
-            return raw == null || raw.isEmpty() ? 0d : Double.parseDouble(raw);
-        if (type == Double.class)
-            return raw == null || raw.isEmpty() ? null : Double.valueOf(raw);
-        if (type == boolean.class)
-            return raw != null && ("true".equalsIgnoreCase(raw) || "1".equals(raw));
-        if (type == Boolean.class)
-            return raw == null ? null : ("true".equalsIgnoreCase(raw) || "1".equals(raw));
-        return null;
+    /**
+     * Instance du contrôleur pour cet appel. Scope REQUEST: une instance par requête HTTP,
+     * conservée en attribut de requête (réutilisée si la requête repasse par le servlet).
+     */
+    private static Object acquireController(ControllerProvider provider, Class<?> controller, HttpServletRequest req)
+            throws Exception {
+        if (provider == null) {
+            // Pas de constructeur sans argument: même erreur qu'auparavant
+            return controller.getDeclaredConstructor().newInstance();
+        }
+        if (provider.getScope() == Scope.Type.REQUEST) {
+            String key = REQUEST_SCOPE_PREFIX + controller.getName();
+            Object instance = req.getAttribute(key);
+            if (instance == null) {
+                instance = provider.acquire();
+                req.setAttribute(key, instance);
+            }
+            return instance;
+        }
+        return provider.acquire();
     }
 }
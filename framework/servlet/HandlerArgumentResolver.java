@@ -0,0 +1,21 @@
+package framework.servlet;
+
+import framework.utilitaire.RouteMatch;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Résout la valeur d'un paramètre de méthode contrôleur pour une requête.
+ * Un tableau de résolveurs (un par paramètre) est construit une seule fois par route
+ * (ArgumentResolvers): le dispatch se contente de l'exécuter, sans réflexion.
+ */
+@FunctionalInterface
+public interface HandlerArgumentResolver {
+
+    /**
+     * @param match route trouvée (variables de chemin), null pour le mapping conventionnel
+     * @throws MissingArgumentException si un paramètre obligatoire est absent (réponse 400)
+     * @throws ValidationException si un objet @ModelAttribute est invalide (réponse 400)
+     */
+    Object resolve(HttpServletRequest req, HttpServletResponse resp, RouteMatch match) throws Exception;
+}
@@ -0,0 +1,13 @@
+package framework.servlet;
+
+/**
+ * Paramètre obligatoire absent de la requête: le dispatch répond 400 avec ce message.
+ */
+public class MissingArgumentException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public MissingArgumentException(String message) {
+        super(message);
+    }
+}
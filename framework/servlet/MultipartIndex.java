@@ -0,0 +1,118 @@
+package framework.servlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import framework.http.MultipartFile;
+
+/**
+ * Index des parts d'une requête multipart, construit une seule fois par requête (attribut de requête)
+ * au premier accès: champs texte décodés une fois (nom -> valeurs), fichiers indexés par nom.
+ * @RequestParam, @ModelAttribute et MultipartFile lisent tous cet index au lieu de reparcourir getParts().
+ */
+final class MultipartIndex {
+
+    static final String ATTR_MULTIPART_INDEX = "framework.multipartIndex";
+
+    private static final String MULTIPART = "multipart/";
+
+    // Requête illisible (configuration multipart absente, taille dépassée): aucun champ
+    private static final MultipartIndex EMPTY = new MultipartIndex(Collections.emptyMap(), Collections.emptyMap(),
+            Collections.emptySet());
+
+    private final Map<String, String[]> fields;
+    private final Map<String, MultipartFile> files;
+    private final Set<String> names;
+
+    private MultipartIndex(Map<String, String[]> fields, Map<String, MultipartFile> files, Set<String> names) {
+        this.fields = fields;
+        this.files = files;
+        this.names = names;
+    }
+
+    /** true si la requête est multipart (comparaison sans allocation) */
+    static boolean isMultipart(HttpServletRequest req) {
+        String ct = req.getContentType();
+        return ct != null && ct.regionMatches(true, 0, MULTIPART, 0, MULTIPART.length());
+    }
+
+    /** Index de la requête multipart, construit au premier appel puis repris de l'attribut */
+    static MultipartIndex of(HttpServletRequest req) {
+        MultipartIndex index = (MultipartIndex) req.getAttribute(ATTR_MULTIPART_INDEX);
+        if (index == null) {
+            index = build(req);
+            req.setAttribute(ATTR_MULTIPART_INDEX, index);
+        }
+        return index;
+    }
+
+    /** Valeurs du champ texte, dans l'ordre d'envoi (null si absent) */
+    String[] getValues(String name) {
+        return fields.get(name);
+    }
+
+    String getValue(String name) {
+        String[] values = fields.get(name);
+        return values == null ? null : values[0];
+    }
+
+    /** Premier fichier envoyé sous ce nom, ou null si absent ou vide */
+    MultipartFile getFile(String name) {
+        return files.get(name);
+    }
+
+    /** Noms des champs texte et fichiers, dans l'ordre d'envoi */
+    Set<String> getNames() {
+        return names;
+    }
+
+    private static MultipartIndex build(HttpServletRequest req) {
+        String encoding = req.getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        try {
+            Map<String, List<String>> text = new LinkedHashMap<>();
+            Map<String, MultipartFile> files = new HashMap<>();
+            Set<String> names = new LinkedHashSet<>();
+            for (Part part : req.getParts()) {
+                String name = part.getName();
+                names.add(name);
+                // Champ texte: submittedFileName() == null
+                if (part.getSubmittedFileName() == null) {
+                    text.computeIfAbsent(name, k -> new ArrayList<>(1)).add(readText(part, charset));
+                } else if (!files.containsKey(name)) {
+                    MultipartFile file = new MultipartFile(name, part);
+                    files.put(name, file.isEmpty() ? null : file);
+                }
+            }
+            Map<String, String[]> fields = new HashMap<>(text.size() * 2);
+            for (Map.Entry<String, List<String>> e : text.entrySet()) {
+                fields.put(e.getKey(), e.getValue().toArray(new String[0]));
+            }
+            return new MultipartIndex(fields, files, Collections.unmodifiableSet(names));
+        } catch (IllegalStateException e) {
+            // Configuration multipart manquante ou requête trop grande
+            System.err.println("Erreur traitement multipart: " + e.getMessage());
+            return EMPTY;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return EMPTY;
+        }
+    }
+
+    private static String readText(Part part, Charset charset) throws IOException {
+        try (InputStream in = part.getInputStream()) {
+            return new String(in.readAllBytes(), charset);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package framework.servlet;
+
+import framework.utilitaire.ValidationResult;
+
+import java.util.Map;
+
+/**
+ * Objet @ModelAttribute invalide alors que le handler ne déclare pas de ValidationResult:
+ * le dispatch répond 400 avec la liste des erreurs (champ: message).
+ */
+public class ValidationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ValidationResult result;
+
+    public ValidationException(ValidationResult result) {
+        super(describe(result));
+        this.result = result;
+    }
+
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    private static String describe(ValidationResult result) {
+        StringBuilder sb = new StringBuilder("Validation failed");
+        char sep = ':';
+        for (Map.Entry<String, String> e : result.getFieldErrors().entrySet()) {
+            sb.append(sep).append(' ').append(e.getKey()).append(": ").append(e.getValue());
+            sep = ';';
+        }
+        return sb.toString();
+    }
+}
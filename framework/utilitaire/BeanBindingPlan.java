@@ -0,0 +1,548 @@
+package framework.utilitaire;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plan de liaison d'une classe de formulaire, construit une seule fois par classe (ClassValue):
+ * constructeur, et pour chaque champ son nom de paramètre, son setter (méthode setXxx publique,
+ * sinon écriture directe du champ) et sa conversion, tous résolus d'avance.
+ * Partagé par @ModelAttribute (ArgumentResolvers) et FormMapper: lier un objet n'est plus
+ * qu'une boucle sur des MethodHandle, sans réflexion par requête.
+ *
+ * Chemins de propriétés: "employe.departement.id", "lignes[3].quantite", "notes[math]".
+ * Chaque plan est un nœud de trie (table de hachage de ses propriétés, consultée directement
+ * sur une plage du nom), dont les arêtes mènent au plan du type imbriqué: un nom de paramètre
+ * se résout en un seul parcours, sans regex ni découpage. Listes, tableaux et Map sont créés
+ * et agrandis au besoin, dans la limite de binding.autogrow.limit éléments.
+ */
+public final class BeanBindingPlan {
+
+    /** Taille maximale par défaut d'une liste, d'un tableau ou d'une Map agrandi par la liaison */
+    public static final int DEFAULT_AUTO_GROW_LIMIT = 256;
+
+    private static volatile int autoGrowLimit = DEFAULT_AUTO_GROW_LIMIT;
+
+    /** Reçoit les erreurs de conversion; sans collecteur, la première erreur est propagée */
+    public interface BindingErrors {
+        void rejectValue(String property, String rawValue, Class<?> type, RuntimeException cause);
+    }
+
+    private interface ValueConverter {
+        Object convert(BindingSource source, String name);
+    }
+
+    private interface ElementConverter {
+        Object convert(String raw);
+    }
+
+    private enum Container { NONE, LIST, ARRAY, MAP }
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final ClassValue<BeanBindingPlan> PLANS = new ClassValue<BeanBindingPlan>() {
+        @Override
+        protected BeanBindingPlan computeValue(Class<?> type) {
+            return new BeanBindingPlan(type);
+        }
+    };
+
+    /** Propriété liée: nom du paramètre, conversion, accesseurs et description du conteneur résolus une fois */
+    static final class Property {
+        final String name;
+        final int hash;
+        final Class<?> type;
+        final Type genericType;
+        final ValueConverter converter;
+        final MethodHandle setter;
+        final MethodHandle getter;
+        /** true si un chemin peut traverser la propriété ("prop.sous") */
+        final boolean nested;
+        final Container container;
+        /** Élément de liste/tableau, valeur de Map */
+        final Class<?> elementType;
+        final ElementConverter elementConverter;
+        final ElementConverter keyConverter;
+
+        Property(Field field, MethodHandle setter, MethodHandle getter) {
+            this.name = field.getName();
+            this.hash = name.hashCode();
+            this.type = field.getType();
+            this.genericType = field.getGenericType();
+            this.converter = converterFor(field);
+            this.setter = setter;
+            this.getter = getter;
+            this.container = containerOf(type);
+
+            Type generic = field.getGenericType();
+            if (container == Container.ARRAY) {
+                elementType = type.getComponentType();
+            } else if (container == Container.LIST) {
+                elementType = typeArgument(generic, 0);
+            } else if (container == Container.MAP) {
+                elementType = typeArgument(generic, 1);
+            } else {
+                elementType = null;
+            }
+            this.elementConverter = elementType == null ? null : elementConverterFor(elementType);
+            this.keyConverter = container == Container.MAP ? elementConverterFor(typeArgument(generic, 0)) : null;
+            this.nested = container == Container.NONE && isBean(type) && !MultiValueParsers.isMultiValued(type);
+        }
+    }
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+    // Table à adressage ouvert (nœud du trie): recherche d'une propriété sur une plage de caractères
+    private final Property[] table;
+    private final int mask;
+
+    private BeanBindingPlan(Class<?> type) {
+        this.type = type;
+        this.constructor = defaultConstructor(type);
+
+        // Champs de la classe et de ses parents (le plus spécifique l'emporte à nom égal)
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int mod = field.getModifiers();
+                if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || field.isSynthetic()) continue;
+                fields.putIfAbsent(field.getName(), field);
+            }
+        }
+
+        List<Property> props = new ArrayList<>(fields.size());
+        for (Field field : fields.values()) {
+            MethodHandle setter = setterFor(type, field);
+            if (setter != null) {
+                props.add(new Property(field, setter, getterFor(field)));
+            }
+        }
+        this.properties = props.toArray(new Property[0]);
+
+        int capacity = Integer.highestOneBit(Math.max(2, properties.length * 2 - 1)) << 1;
+        this.table = new Property[capacity];
+        this.mask = capacity - 1;
+        for (Property p : properties) {
+            int i = spread(p.hash) & mask;
+            while (table[i] != null) i = (i + 1) & mask;
+            table[i] = p;
+        }
+    }
+
+    public static BeanBindingPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /** Limite d'agrandissement automatique des listes, tableaux et Map (binding.autogrow.limit) */
+    public static void setAutoGrowLimit(int limit) {
+        autoGrowLimit = limit > 0 ? limit : DEFAULT_AUTO_GROW_LIMIT;
+    }
+
+    public static int getAutoGrowLimit() {
+        return autoGrowLimit;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /** Noms des paramètres liés, dans l'ordre des champs */
+    public String[] getPropertyNames() {
+        String[] names = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            names[i] = properties[i].name;
+        }
+        return names;
+    }
+
+    /** Affecte la valeur par le setter pré-résolu (null ignoré pour un type primitif), pour JsonBinder */
+    static void setProperty(Object bean, Property p, Object value) throws Exception {
+        if (value == null && p.type.isPrimitive()) return;
+        set(p, bean, value);
+    }
+
+    /** Nouvelle instance par le constructeur sans argument */
+    public Object instantiate() throws Exception {
+        if (constructor == null) {
+            throw new IllegalStateException("No default constructor for " + type.getName());
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    /**
+     * Affecte à target toutes les valeurs présentes dans la source (les noms inconnus sont ignorés):
+     * champs de premier niveau, puis chemins imbriqués et indexés.
+     * @param errors collecteur des erreurs de conversion, ou null pour propager la première
+     */
+    public void bind(Object target, BindingSource source, BindingErrors errors) throws Exception {
+        for (Property p : properties) {
+            Object value;
+            try {
+                value = valueOf(p, source, p.name);
+            } catch (RuntimeException e) {
+                reject(errors, p.name, source, p.type, e);
+                continue;
+            }
+            if (value != null) set(p, target, value);
+        }
+
+        Set<Object> created = null;
+        for (String name : source.getNames()) {
+            if (name.indexOf('.') >= 0 || name.indexOf('[') >= 0) {
+                if (created == null) created = Collections.newSetFromMap(new IdentityHashMap<>());
+                bindPath(target, name, source, errors, created);
+            }
+        }
+    }
+
+    private static Object valueOf(Property p, BindingSource source, String name) {
+        Object value = source.getObject(name, p.type);
+        return value != null ? value : p.converter.convert(source, name);
+    }
+
+    private static void reject(BindingErrors errors, String name, BindingSource source, Class<?> type,
+                               RuntimeException e) {
+        if (errors == null) throw e;
+        String[] raw = source.getValues(name);
+        errors.rejectValue(name, raw == null ? null : String.join(",", raw), type, e);
+    }
+
+    // --- Chemins de propriétés ---
+
+    /**
+     * Parcourt le chemin depuis target, en créant les objets et conteneurs intermédiaires manquants.
+     * Seuls target et les objets créés pendant cette liaison (created) sont modifiés: un objet existant
+     * peut être partagé (entité en cache, factory), le chemin est alors ignoré, ou rejeté si l'objet
+     * vient de la conversion d'une valeur de la requête (lieu=1&lieu.ville=x).
+     */
+    private void bindPath(Object target, String path, BindingSource source, BindingErrors errors,
+                          Set<Object> created) throws Exception {
+        BeanBindingPlan plan = this;
+        Object bean = target;
+        Class<?> failedType = type;
+        int len = path.length();
+        int pos = 0;
+        try {
+            while (true) {
+                int end = pos;
+                while (end < len && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                Property p = plan.find(path, pos, end);
+                if (p == null) return;
+                failedType = p.type;
+
+                if (end == len) {
+                    Object value = valueOf(p, source, path);
+                    if (value != null) set(p, bean, value);
+                    return;
+                }
+
+                if (path.charAt(end) == '.') {
+                    if (!p.nested) return;
+                    Object child = get(p, bean);
+                    if (child == null) {
+                        child = of(p.type).instantiate();
+                        set(p, bean, child);
+                        created.add(child);
+                    } else if (!created.contains(child)) {
+                        rejectShared(path, end, source);
+                        return;
+                    }
+                    plan = of(p.type);
+                    bean = child;
+                    pos = end + 1;
+                    continue;
+                }
+
+                // Index ou clé: prop[i], prop[cle]
+                int close = path.indexOf(']', end + 1);
+                if (p.container == Container.NONE || close < 0) return;
+                pos = close + 1;
+                failedType = p.elementType;
+                if (pos == len) {
+                    Object value = source.getObject(path, p.elementType);
+                    if (value == null) {
+                        String raw = source.getValue(path);
+                        value = raw == null ? null : p.elementConverter.convert(raw);
+                    }
+                    if (value != null) putElement(p, bean, path, end + 1, close, value);
+                    return;
+                }
+                if (path.charAt(pos) != '.' || !isBean(p.elementType)) return;
+                Object element = getElement(p, bean, path, end + 1, close);
+                if (element == null) {
+                    element = of(p.elementType).instantiate();
+                    putElement(p, bean, path, end + 1, close, element);
+                    created.add(element);
+                } else if (!created.contains(element)) {
+                    rejectShared(path, pos, source);
+                    return;
+                }
+                plan = of(p.elementType);
+                bean = element;
+                pos++;
+            }
+        } catch (RuntimeException e) {
+            reject(errors, path, source, failedType, e);
+        }
+    }
+
+    // Objet existant non créé par cette liaison: erreur si converti depuis la requête, sinon ignoré
+    private static void rejectShared(String path, int end, BindingSource source) {
+        String prefix = path.substring(0, end);
+        if (source.getValues(prefix) != null) {
+            throw new IllegalArgumentException("Cannot bind " + path + ": " + prefix + " is bound from the request value");
+        }
+    }
+
+    /** Propriété nommée par name[start, end), ou null */
+    Property find(CharSequence name, int start, int end) {
+        int len = end - start;
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + name.charAt(i);
+        }
+        for (int i = spread(h) & mask; table[i] != null; i = (i + 1) & mask) {
+            Property p = table[i];
+            if (p.hash == h && p.name.length() == len && regionMatches(name, start, p.name, len)) return p;
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence name, int start, String candidate, int len) {
+        for (int i = 0; i < len; i++) {
+            if (name.charAt(start + i) != candidate.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object getElement(Property p, Object bean, String path, int start, int end) throws Exception {
+        Object container = get(p, bean);
+        if (container == null) return null;
+        switch (p.container) {
+            case LIST: {
+                List<Object> list = (List<Object>) container;
+                int index = index(path, start, end);
+                return index < list.size() ? list.get(index) : null;
+            }
+            case ARRAY: {
+                int index = index(path, start, end);
+                return index < Array.getLength(container) ? Array.get(container, index) : null;
+            }
+            default:
+                return ((Map<Object, Object>) container).get(p.keyConverter.convert(key(path, start, end)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putElement(Property p, Object bean, String path, int start, int end, Object value)
+            throws Exception {
+        int limit = autoGrowLimit;
+        Object container = get(p, bean);
+        switch (p.container) {
+            case LIST: {
+                int index = checkedIndex(path, start, end, limit);
+                if (container == null) {
+                    container = p.type.isAssignableFrom(ArrayList.class) ? new ArrayList<>() : of(p.type).instantiate();
+                    set(p, bean, container);
+                }
+                List<Object> list = (List<Object>) container;
+                while (list.size() <= index) list.add(null);
+                list.set(index, value);
+                return;
+            }
+            case ARRAY: {
+                int index = checkedIndex(path, start, end, limit);
+                int length = container == null ? 0 : Array.getLength(container);
+                if (index >= length) {
+                    Object grown = Array.newInstance(p.elementType, index + 1);
+                    if (container != null) System.arraycopy(container, 0, grown, 0, length);
+                    container = grown;
+                    set(p, bean, container);
+                }
+                Array.set(container, index, value);
+                return;
+            }
+            default: {
+                if (container == null) {
+                    container = p.type.isAssignableFrom(LinkedHashMap.class) ? new LinkedHashMap<>() : of(p.type).instantiate();
+                    set(p, bean, container);
+                }
+                Map<Object, Object> map = (Map<Object, Object>) container;
+                Object key = p.keyConverter.convert(key(path, start, end));
+                if (map.size() >= limit && !map.containsKey(key)) {
+                    throw new IllegalArgumentException("Map exceeds auto-grow limit " + limit + ": " + path);
+                }
+                map.put(key, value);
+            }
+        }
+    }
+
+    private static int index(String path, int start, int end) {
+        int index = ScalarParsers.parseInt(path, start, end);
+        if (index < 0) throw new IllegalArgumentException("Negative index: " + path);
+        return index;
+    }
+
+    private static int checkedIndex(String path, int start, int end, int limit) {
+        int index = index(path, start, end);
+        if (index >= limit) {
+            throw new IllegalArgumentException("Index " + index + " exceeds auto-grow limit " + limit + ": " + path);
+        }
+        return index;
+    }
+
+    // Clé de Map, guillemets simples ou doubles facultatifs: notes[math], notes['math']
+    private static String key(String path, int start, int end) {
+        if (end - start >= 2) {
+            char q = path.charAt(start);
+            if ((q == '\'' || q == '"') && path.charAt(end - 1) == q) return path.substring(start + 1, end - 1);
+        }
+        return path.substring(start, end);
+    }
+
+    private static Object get(Property p, Object bean) throws Exception {
+        try {
+            return (Object) p.getter.invokeExact(bean);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static void set(Property p, Object bean, Object value) throws Exception {
+        try {
+            p.setter.invokeExact(bean, value);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    // --- Résolution (une fois par classe) ---
+
+    private static ValueConverter converterFor(Field field) {
+        Class<?> type = field.getType();
+        MultiValueParsers.Parser multi = MultiValueParsers.parserFor(type, field.getGenericType());
+        if (multi != null) {
+            return (source, name) -> {
+                String[] values = source.getValues(name);
+                return values == null ? null : multi.parse(values);
+            };
+        }
+        ScalarParsers.Parser scalar = ScalarParsers.parserFor(type);
+        if (scalar != null) {
+            return (source, name) -> {
+                String raw = source.getValue(name);
+                return raw == null ? null : scalar.parse(raw);
+            };
+        }
+        // Autres types (entités...): convertisseurs enregistrés et factories statiques
+        ConversionService conversion = ConversionService.getInstance();
+        return (source, name) -> {
+            String raw = source.getValue(name);
+            return raw == null ? null : conversion.convert(raw, type);
+        };
+    }
+
+    private static ElementConverter elementConverterFor(Class<?> type) {
+        ScalarParsers.Parser scalar = ScalarParsers.parserFor(type);
+        if (scalar != null) return scalar::parse;
+        ConversionService conversion = ConversionService.getInstance();
+        return raw -> conversion.convert(raw, type);
+    }
+
+    private static Container containerOf(Class<?> type) {
+        if (type.isArray()) return Container.ARRAY;
+        if (List.class.isAssignableFrom(type)) return Container.LIST;
+        if (Map.class.isAssignableFrom(type)) return Container.MAP;
+        return Container.NONE;
+    }
+
+    private static Class<?> typeArgument(Type generic, int index) {
+        if (generic instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) generic).getActualTypeArguments();
+            if (index < args.length && args[index] instanceof Class) return (Class<?>) args[index];
+        }
+        return String.class;
+    }
+
+    // Objet traversable par un chemin: ni scalaire, ni primitif, ni tableau, et instanciable
+    private static boolean isBean(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isInterface() && !type.isEnum()
+                && !Modifier.isAbstract(type.getModifiers()) && ScalarParsers.parserFor(type) == null
+                && !type.getName().startsWith("java.");
+    }
+
+    private static MethodHandle setterFor(Class<?> type, Field field) {
+        String name = field.getName();
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            Method setter = type.getMethod(setterName, field.getType());
+            if (!Modifier.isStatic(setter.getModifiers())) {
+                if (!Modifier.isPublic(setter.getDeclaringClass().getModifiers())) setter.setAccessible(true);
+                return MethodHandles.lookup().unreflect(setter).asType(SETTER_TYPE);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+            // Pas de setter utilisable: écriture directe du champ
+        }
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Champ inaccessible (module fermé): non lié
+            return null;
+        }
+    }
+
+    // Lecture directe du champ (objets et conteneurs intermédiaires déjà présents)
+    private static MethodHandle getterFor(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+        }
+    }
+
+    private static MethodHandle defaultConstructor(Class<?> type) {
+        try {
+            Constructor<?> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
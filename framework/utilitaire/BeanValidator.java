@@ -0,0 +1,165 @@
+package framework.utilitaire;
+
+import framework.annotation.Email;
+import framework.annotation.MinLength;
+import framework.annotation.NotBlank;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Validation déclarative (@NotBlank, @Email, @MinLength), préparée une seule fois par classe (ClassValue):
+ * contraintes lues au démarrage, expression de l'email compilée une fois, lecture des champs par MethodHandle.
+ * Valider un objet n'est qu'une boucle sur ces contrôles; une seule erreur par champ (la première),
+ * et en mode fail-fast arrêt à la première violation.
+ */
+public final class BeanValidator {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static volatile boolean failFast;
+
+    private static final ClassValue<BeanValidator> VALIDATORS = new ClassValue<BeanValidator>() {
+        @Override
+        protected BeanValidator computeValue(Class<?> type) {
+            return new BeanValidator(type);
+        }
+    };
+
+    private interface Constraint {
+        /** true si la valeur respecte la contrainte */
+        boolean test(Object value);
+    }
+
+    /** Contrôle d'un champ: accesseur et contraintes dans l'ordre NotBlank, Email, MinLength */
+    private static final class Check {
+        final String field;
+        final MethodHandle getter;
+        final Constraint[] constraints;
+        final String[] messages;
+
+        Check(String field, MethodHandle getter, Constraint[] constraints, String[] messages) {
+            this.field = field;
+            this.getter = getter;
+            this.constraints = constraints;
+            this.messages = messages;
+        }
+    }
+
+    private final Check[] checks;
+
+    private BeanValidator(Class<?> type) {
+        List<Check> list = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                Check check = checkFor(field);
+                if (check != null) list.add(check);
+            }
+        }
+        this.checks = list.toArray(new Check[0]);
+    }
+
+    public static BeanValidator of(Class<?> type) {
+        return VALIDATORS.get(type);
+    }
+
+    /** Mode fail-fast global (validation.fail.fast): arrêt à la première violation */
+    public static void setFailFast(boolean enabled) {
+        failFast = enabled;
+    }
+
+    public static boolean isFailFast() {
+        return failFast;
+    }
+
+    /** Valide l'objet selon ses annotations, dans le mode global */
+    public static ValidationResult validate(Object bean) {
+        ValidationResult result = new ValidationResult();
+        if (bean != null) of(bean.getClass()).validate(bean, result, failFast);
+        return result;
+    }
+
+    /** true si la classe déclare au moins une contrainte */
+    public boolean hasConstraints() {
+        return checks.length > 0;
+    }
+
+    /**
+     * Ajoute à result les violations de bean.
+     * @return true si aucune violation n'a été trouvée
+     */
+    public boolean validate(Object bean, ValidationResult result, boolean failFast) {
+        boolean valid = true;
+        for (Check check : checks) {
+            Object value = get(check.getter, bean);
+            for (int i = 0; i < check.constraints.length; i++) {
+                if (!check.constraints[i].test(value)) {
+                    result.addError(check.field, check.messages[i]);
+                    if (failFast) return false;
+                    valid = false;
+                    break;
+                }
+            }
+        }
+        return valid;
+    }
+
+    // --- Préparation (une fois par classe) ---
+
+    private static Check checkFor(Field field) {
+        NotBlank notBlank = field.getAnnotation(NotBlank.class);
+        Email email = field.getAnnotation(Email.class);
+        MinLength minLength = field.getAnnotation(MinLength.class);
+        if (notBlank == null && email == null && minLength == null) return null;
+
+        List<Constraint> constraints = new ArrayList<>(3);
+        List<String> messages = new ArrayList<>(3);
+        if (notBlank != null) {
+            constraints.add(value -> value != null && !value.toString().isBlank());
+            messages.add(notBlank.message());
+        }
+        // Email et longueur ne s'appliquent qu'à une valeur présente (l'absence relève de @NotBlank)
+        if (email != null) {
+            constraints.add(value -> isEmpty(value) || EMAIL.matcher(value.toString()).matches());
+            messages.add(email.message());
+        }
+        if (minLength != null) {
+            int min = minLength.value();
+            constraints.add(value -> isEmpty(value) || value.toString().length() >= min);
+            messages.add(minLength.message());
+        }
+
+        MethodHandle getter;
+        try {
+            field.setAccessible(true);
+            getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Champ illisible (module fermé): contraintes ignorées
+            return null;
+        }
+        return new Check(field.getName(), getter, constraints.toArray(new Constraint[0]), messages.toArray(new String[0]));
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null || value.toString().isEmpty();
+    }
+
+    private static Object get(MethodHandle getter, Object bean) {
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
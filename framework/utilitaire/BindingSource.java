@@ -0,0 +1,29 @@
+package framework.utilitaire;
+
+/**
+ * Source de valeurs nommées pour la liaison d'un objet (BeanBindingPlan):
+ * paramètres de requête côté servlet, Map de formulaire pour FormMapper.
+ * Indépendante de l'API servlet, pour que les deux chemins partagent le même plan.
+ */
+public interface BindingSource {
+
+    /** Noms présents (parcourus pour les chemins imbriqués et indexés: "a.b", "lignes[0].x") */
+    Iterable<String> getNames();
+
+    /** Toutes les valeurs textuelles du nom, ou null si absent */
+    String[] getValues(String name);
+
+    /** Première valeur textuelle du nom, ou null si absent */
+    default String getValue(String name) {
+        String[] values = getValues(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    /**
+     * Valeur déjà typée, affectée telle quelle si non null (fichier envoyé, objet fourni dans la Map...)
+     * @param type type de la propriété cible
+     */
+    default Object getObject(String name, Class<?> type) {
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package framework.utilitaire;
+
+import framework.annotation.Cacheable;
+
+/**
+ * Politique de cache d'une route (@Cacheable), résolue une seule fois à la construction du descripteur:
+ * durée de vie et composition de la clé.
+ */
+public final class CachePolicy {
+
+    private final long ttlMillis;
+    private final RouteKey key;
+
+    private CachePolicy(long ttlMillis, RouteKey key) {
+        this.ttlMillis = ttlMillis;
+        this.key = key;
+    }
+
+    /**
+     * @param variableNames variables du template de la route
+     * @return la politique, ou null si l'annotation est absente ou la durée nulle
+     */
+    public static CachePolicy of(Cacheable cacheable, String[] variableNames) {
+        if (cacheable == null || cacheable.ttl() <= 0) return null;
+        return new CachePolicy(cacheable.ttl() * 1000L, RouteKey.of(cacheable.key(), variableNames));
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public RouteKey getKey() {
+        return key;
+    }
+}
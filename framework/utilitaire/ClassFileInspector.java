@@ -0,0 +1,249 @@
+package framework.utilitaire;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecteur minimal de fichiers .class: parcourt le constant pool et les attributs
+ * RuntimeVisibleAnnotations pour savoir si une classe est un contrôleur,
+ * sans la charger dans la JVM (pas de defineClass, rien en metaspace).
+ */
+public final class ClassFileInspector {
+
+    private static final byte[] CONTROLLER = utf8("Lframework/annotation/Controller;");
+    private static final byte[] REST_CONTROLLER = utf8("Lframework/annotation/RestController;");
+    private static final byte[] GET_MAPPING = utf8("Lframework/annotation/GetMapping;");
+    private static final byte[] POST_MAPPING = utf8("Lframework/annotation/PostMapping;");
+    private static final byte[] REQUEST_MAPPING = utf8("Lframework/annotation/RequestMapping;");
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = utf8("RuntimeVisibleAnnotations");
+
+    // Rôle de chaque entrée Utf8 intéressante du constant pool
+    private static final byte NONE = 0;
+    private static final byte CONTROLLER_TYPE = 1;
+    private static final byte MAPPING_TYPE = 2;
+    private static final byte ANNOTATIONS_ATTR = 3;
+
+    private ClassFileInspector() {
+    }
+
+    /**
+     * Résumé des annotations d'une classe, lu depuis son bytecode.
+     */
+    public static final class Summary {
+        private final String className;
+        private final boolean controller;
+        private final boolean mappedMethods;
+
+        Summary(String className, boolean controller, boolean mappedMethods) {
+            this.className = className;
+            this.controller = controller;
+            this.mappedMethods = mappedMethods;
+        }
+
+        /** Nom binaire de la classe (ex: a.b.Outer$Inner) */
+        public String getClassName() {
+            return className;
+        }
+
+        /** true si la classe porte @Controller ou @RestController */
+        public boolean isController() {
+            return controller;
+        }
+
+        /** true si au moins une méthode porte @GetMapping, @PostMapping ou @RequestMapping */
+        public boolean hasMappedMethods() {
+            return mappedMethods;
+        }
+    }
+
+    /**
+     * Analyse le contenu d'un fichier .class.
+     * @return le résumé, ou null si les données ne sont pas un fichier .class valide
+     */
+    public static Summary inspect(byte[] data) {
+        try {
+            return new Parser(data).parse();
+        } catch (RuntimeException e) {
+            // Fichier tronqué ou format inconnu: on ne peut rien conclure
+            return null;
+        }
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Parser {
+        private final byte[] b;
+        private int pos;
+        private int[] utf8Offsets;   // offset des octets de chaque entrée Utf8 (index du pool)
+        private int[] classNameIndex; // pour CONSTANT_Class: index de l'Utf8 du nom
+        private byte[] roles;
+
+        Parser(byte[] data) {
+            this.b = data;
+        }
+
+        Summary parse() {
+            if (u4() != 0xCAFEBABE) return null;
+            pos += 4; // minor + major
+
+            int count = u2();
+            utf8Offsets = new int[count];
+            classNameIndex = new int[count];
+            roles = new byte[count];
+            boolean anyTarget = false;
+
+            for (int i = 1; i < count; i++) {
+                int tag = b[pos++] & 0xFF;
+                switch (tag) {
+                    case 1: { // Utf8
+                        int len = u2();
+                        utf8Offsets[i] = pos;
+                        byte role = roleOf(pos, len);
+                        roles[i] = role;
+                        if (role == CONTROLLER_TYPE || role == MAPPING_TYPE) anyTarget = true;
+                        pos += len;
+                        break;
+                    }
+                    case 7: // Class
+                        classNameIndex[i] = u2();
+                        break;
+                    case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                        pos += 2;
+                        break;
+                    case 15: // MethodHandle
+                        pos += 3;
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        pos += 4;
+                        break;
+                    case 5: case 6: // Long, Double: deux entrées
+                        pos += 8;
+                        i++;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown constant pool tag " + tag);
+                }
+            }
+
+            pos += 2; // access_flags
+            int thisClass = u2();
+            String className = readUtf8(classNameIndex[thisClass]).replace('/', '.');
+
+            // Aucune des annotations recherchées dans le pool: inutile de lire la suite
+            if (!anyTarget) return new Summary(className, false, false);
+
+            pos += 2; // super_class
+            int interfaces = u2();
+            pos += 2 * interfaces;
+
+            int fields = u2();
+            for (int i = 0; i < fields; i++) {
+                pos += 6;
+                skipAttributes();
+            }
+
+            boolean mapped = false;
+            int methods = u2();
+            for (int i = 0; i < methods; i++) {
+                pos += 6;
+                if (scanAttributes(MAPPING_TYPE)) mapped = true;
+            }
+
+            boolean controller = scanAttributes(CONTROLLER_TYPE);
+            return new Summary(className, controller, mapped);
+        }
+
+        /** Parcourt une table d'attributs et indique si une annotation du rôle demandé y figure */
+        private boolean scanAttributes(byte wanted) {
+            boolean found = false;
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                int nameIndex = u2();
+                int len = u4();
+                int end = pos + len;
+                if (roles[nameIndex] == ANNOTATIONS_ATTR) {
+                    int annotations = u2();
+                    for (int a = 0; a < annotations; a++) {
+                        if (roles[u2()] == wanted) found = true;
+                        skipElementValuePairs();
+                    }
+                }
+                pos = end;
+            }
+            return found;
+        }
+
+        private void skipAttributes() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                pos += 2;
+                int len = u4();
+                pos += len;
+            }
+        }
+
+        private void skipElementValuePairs() {
+            int pairs = u2();
+            for (int p = 0; p < pairs; p++) {
+                pos += 2; // element_name_index
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue() {
+            int tag = b[pos++] & 0xFF;
+            switch (tag) {
+                case 'e':
+                    pos += 4;
+                    break;
+                case '@':
+                    pos += 2;
+                    skipElementValuePairs();
+                    break;
+                case '[': {
+                    int n = u2();
+                    for (int i = 0; i < n; i++) skipElementValue();
+                    break;
+                }
+                default: // B C D F I J S Z s c
+                    pos += 2;
+            }
+        }
+
+        private byte roleOf(int offset, int len) {
+            if (equalsAt(offset, len, CONTROLLER) || equalsAt(offset, len, REST_CONTROLLER)) return CONTROLLER_TYPE;
+            if (equalsAt(offset, len, GET_MAPPING) || equalsAt(offset, len, POST_MAPPING)
+                    || equalsAt(offset, len, REQUEST_MAPPING)) return MAPPING_TYPE;
+            if (equalsAt(offset, len, RUNTIME_VISIBLE_ANNOTATIONS)) return ANNOTATIONS_ATTR;
+            return NONE;
+        }
+
+        private boolean equalsAt(int offset, int len, byte[] expected) {
+            if (len != expected.length) return false;
+            for (int i = 0; i < len; i++) {
+                if (b[offset + i] != expected[i]) return false;
+            }
+            return true;
+        }
+
+        private String readUtf8(int index) {
+            int offset = utf8Offsets[index];
+            int len = ((b[offset - 2] & 0xFF) << 8) | (b[offset - 1] & 0xFF);
+            // Les noms de classes sont en UTF-8 modifié, identique à l'UTF-8 hors caractères nuls/surrogates
+            return new String(b, offset, len, StandardCharsets.UTF_8);
+        }
+
+        private int u2() {
+            int v = ((b[pos] & 0xFF) << 8) | (b[pos + 1] & 0xFF);
+            pos += 2;
+            return v;
+        }
+
+        private int u4() {
+            int v = ((b[pos] & 0xFF) << 24) | ((b[pos + 1] & 0xFF) << 16) | ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+            pos += 4;
+            return v;
+        }
+    }
+}
@@ -4,78 +4,329 @@ import framework.annotation.Controller;
 import framework.annotation.RestController;
 
 
-import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
 
 /**
  * Responsable de la découverte et du scan des classes dans un package
  * Principe de Responsabilité Unique (SRP)
+ *
+ * Toutes les racines du classpath sont parcourues (répertoires et jars de WEB-INF/lib).
+ * Le parcours et le chargement sont répartis sur un pool fork-join. Le bytecode de chaque
+ * fichier est pré-filtré par ClassFileInspector: seules les classes annotées @Controller
+ * ou @RestController et déclarant au moins une méthode mappée sont chargées, et sans initialisation.
+ * Avec un RouteIndex du démarrage précédent, les fichiers inchangés ne sont pas relus.
  */
 public class ClassScanner {
-    
+
+    /** Nombre de classes chargées par tâche avant de découper le travail */
+    private static final int LOAD_THRESHOLD = 64;
+
+    /**
+     * Fichier .class rencontré pendant le scan, avec son empreinte (taille + date de modification)
+     * et le verdict du pré-filtre (nom du contrôleur, ou null si ce n'en est pas un ou s'il ne mappe rien).
+     */
+    public static final class ClassFile {
+        private final String name;
+        private final long size;
+        private final long lastModified;
+        private final String controllerName;
+        private final boolean inspected;
+
+        ClassFile(String name, long size, long lastModified, String controllerName, boolean inspected) {
+            this.name = name;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.controllerName = controllerName;
+            this.inspected = inspected;
+        }
+
+        /** Nom de classe déduit du chemin du fichier */
+        public String getName() {
+            return name;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /** Nom du contrôleur, null si la classe n'est pas un contrôleur */
+        public String getControllerName() {
+            return controllerName;
+        }
+
+        /** false si le verdict a été repris de l'index (fichier inchangé, bytecode non relu) */
+        public boolean isInspected() {
+            return inspected;
+        }
+    }
+
     /**
      * Découvre toutes les classes avec @Controller dans un package et ses sous-packages
      * @param packageName Le package de base à scanner
-     * @return Liste des classes trouvées
+     * @return Liste des classes trouvées, triée par nom
      */
     public List<Class<?>> scanPackage(String packageName) {
-        List<Class<?>> classes = new ArrayList<>();
-        
+        List<String> controllerNames = new ArrayList<>();
+        for (ClassFile file : scanClassFiles(packageName, null)) {
+            if (file.getControllerName() != null) {
+                controllerNames.add(file.getControllerName());
+            }
+        }
+        return loadControllers(controllerNames);
+    }
+
+    /**
+     * Liste tous les fichiers .class du package avec leur empreinte.
+     * Un fichier dont la taille et la date correspondent à l'index précédent n'est pas relu:
+     * son verdict (contrôleur ou non) est repris tel quel.
+     * @param previous index du démarrage précédent, ou null
+     * @return les fichiers triés par nom
+     */
+    public List<ClassFile> scanClassFiles(String packageName, RouteIndex previous) {
+        List<ClassFile> files = new ArrayList<>();
+        String path = packageName.replace('.', '/');
+        ClassLoader cl = defaultClassLoader();
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
         try {
-            String path = packageName.replace('.', '/');
-            // Utiliser le Context ClassLoader (serveur d'app) pour voir WEB-INF/classes
-            ClassLoader cl = Thread.currentThread().getContextClassLoader();
-            URL resource = cl.getResource(path);
-            
-            if (resource != null) {
-                File directory = new File(resource.toURI());
-                if (directory.exists() && directory.isDirectory()) {
-                    scanDirectory(directory, packageName, classes);
-                }
-            } else {
+            Enumeration<URL> resources = cl.getResources(path);
+            if (!resources.hasMoreElements()) {
                 System.out.println("Aucune ressource trouvée pour le package: " + packageName + " (path=" + path + ")");
             }
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try {
+                    if ("file".equals(resource.getProtocol())) {
+                        Path directory = Paths.get(resource.toURI());
+                        if (Files.isDirectory(directory)) {
+                            files.addAll(pool.invoke(new DirectoryTask(directory, packageName, previous)));
+                        }
+                    } else if ("jar".equals(resource.getProtocol())) {
+                        files.addAll(scanJar(resource, path, previous));
+                    }
+                } catch (Exception e) {
+                    System.out.println("Erreur lors du scan de " + resource + ": " + e.getMessage());
+                }
+            }
         } catch (Exception e) {
             System.out.println("Erreur lors de la découverte des classes: " + e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Ordre stable quel que soit le découpage parallèle (tri stable: l'ordre des racines est conservé)
+        files.sort(Comparator.comparing(ClassFile::getName));
+        // Classe présente dans plusieurs racines (WEB-INF/classes et un jar): seule la première,
+        // celle que le ClassLoader chargera, est gardée
+        List<ClassFile> unique = new ArrayList<>(files.size());
+        for (ClassFile file : files) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).getName().equals(file.getName())) {
+                unique.add(file);
+            }
         }
-        
+        return unique;
+    }
+
+    /**
+     * Charge en parallèle (sans initialisation) les classes nommées et garde celles
+     * annotées @Controller ou @RestController.
+     * @return Liste des classes, triée par nom
+     */
+    public List<Class<?>> loadControllers(List<String> classNames) {
+        // Un même nom ne donne qu'une classe: pas de double enregistrement des routes
+        classNames = new ArrayList<>(new LinkedHashSet<>(classNames));
+        List<Class<?>> classes = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            classes.addAll(pool.invoke(new LoadTask(classNames, 0, classNames.size(), defaultClassLoader())));
+        } finally {
+            pool.shutdown();
+        }
+        classes.sort(Comparator.comparing(Class::getName));
         return classes;
     }
-    
+
     /**
-     * Scanne récursivement un répertoire pour trouver toutes les classes avec @Controller
-     * @param directory Le répertoire à scanner
-     * @param packageName Le nom du package correspondant
-     * @param classes La liste pour stocker les classes trouvées
+     * Context ClassLoader (serveur d'app) pour voir WEB-INF/classes et WEB-INF/lib
      */
-    private void scanDirectory(File directory, String packageName, List<Class<?>> classes) {
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
-        }
-        
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // Scanner récursivement les sous-répertoires (sous-packages)
-                String subPackage = packageName + "." + file.getName();
-                scanDirectory(file, subPackage, classes);
-            } else if (file.isFile() && file.getName().endsWith(".class")) {
-                // Charger la classe
-                String className = file.getName().substring(0, file.getName().length() - 6);
+    public static ClassLoader defaultClassLoader() {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        return cl != null ? cl : ClassScanner.class.getClassLoader();
+    }
+
+    /**
+     * Liste les classes d'un package contenues dans un jar, via un système de fichiers zip
+     * @param resource URL jar:file:...!/chemin/du/package
+     * @param path chemin du package (séparateur '/')
+     */
+    private List<ClassFile> scanJar(URL resource, String path, RouteIndex previous) throws Exception {
+        JarURLConnection conn = (JarURLConnection) resource.openConnection();
+        conn.setUseCaches(false);
+        Path jarPath = Paths.get(conn.getJarFileURL().toURI());
+
+        List<ClassFile> files = new ArrayList<>();
+        try (FileSystem zipFs = FileSystems.newFileSystem(jarPath, (ClassLoader) null);
+             Stream<Path> entries = Files.walk(zipFs.getPath("/" + path))) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                String name = entry.toString();
+                if (isCandidate(name) && Files.isRegularFile(entry)) {
+                    // "/a/b/C.class" -> "a.b.C"
+                    files.add(classFile(entry, name.substring(1, name.length() - 6).replace('/', '.'), previous));
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Lit l'empreinte d'un fichier .class et pré-filtre son bytecode sans le charger,
+     * sauf si l'index précédent contient la même empreinte.
+     * @param name nom déduit du chemin, utilisé aussi si le bytecode est illisible
+     */
+    private static ClassFile classFile(Path classFile, String name, RouteIndex previous) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(classFile, BasicFileAttributes.class);
+            long size = attrs.size();
+            long lastModified = attrs.lastModifiedTime().toMillis();
+
+            if (previous != null) {
+                ClassFile known = previous.getFile(name);
+                if (known != null && known.getSize() == size && known.getLastModified() == lastModified) {
+                    return new ClassFile(name, size, lastModified, known.getControllerName(), false);
+                }
+            }
+
+            // Bytecode illisible: on ne peut pas conclure, la classe sera chargée puis vérifiée
+            ClassFileInspector.Summary summary = ClassFileInspector.inspect(Files.readAllBytes(classFile));
+            // Contrôleur sans méthode mappée: aucune route, inutile de le charger
+            String controllerName = summary == null ? name
+                    : (summary.isController() && summary.hasMappedMethods() ? summary.getClassName() : null);
+            return new ClassFile(name, size, lastModified, controllerName, true);
+        } catch (IOException e) {
+            return new ClassFile(name, -1L, -1L, name, true);
+        }
+    }
+
+    private static boolean isCandidate(String fileName) {
+        return fileName.endsWith(".class")
+                && !fileName.endsWith("module-info.class")
+                && !fileName.endsWith("package-info.class");
+    }
+
+    /**
+     * Parcourt récursivement un répertoire pour lister les fichiers .class (pré-filtre bytecode);
+     * chaque sous-répertoire (sous-package) est traité par une tâche séparée.
+     */
+    private static class DirectoryTask extends RecursiveTask<List<ClassFile>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final String packageName;
+        private final RouteIndex previous;
+
+        DirectoryTask(Path directory, String packageName, RouteIndex previous) {
+            this.directory = directory;
+            this.packageName = packageName;
+            this.previous = previous;
+        }
+
+        @Override
+        protected List<ClassFile> compute() {
+            List<ClassFile> files = new ArrayList<>();
+            List<DirectoryTask> subTasks = new ArrayList<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path file : entries) {
+                    String fileName = file.getFileName().toString();
+                    if (Files.isDirectory(file)) {
+                        // Scanner récursivement les sous-répertoires (sous-packages)
+                        DirectoryTask task = new DirectoryTask(file, packageName + "." + fileName, previous);
+                        task.fork();
+                        subTasks.add(task);
+                    } else if (isCandidate(fileName)) {
+                        files.add(classFile(file, packageName + "." + fileName.substring(0, fileName.length() - 6), previous));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Impossible de lire le répertoire: " + directory + " (" + e.getMessage() + ")");
+            }
+
+            for (DirectoryTask task : subTasks) {
+                files.addAll(task.join());
+            }
+            return files;
+        }
+    }
+
+    /**
+     * Charge une tranche de la liste de noms (sans initialisation) et vérifie les annotations;
+     * les tranches trop grandes sont coupées en deux.
+     */
+    private static class LoadTask extends RecursiveTask<List<Class<?>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> classNames;
+        private final int from;
+        private final int to;
+        private final ClassLoader classLoader;
+
+        LoadTask(List<String> classNames, int from, int to, ClassLoader classLoader) {
+            this.classNames = classNames;
+            this.from = from;
+            this.to = to;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected List<Class<?>> compute() {
+            if (to - from > LOAD_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                LoadTask left = new LoadTask(classNames, from, mid, classLoader);
+                left.fork();
+                List<Class<?>> right = new LoadTask(classNames, mid, to, classLoader).compute();
+                List<Class<?>> result = new ArrayList<>(left.join());
+                result.addAll(right);
+                return result;
+            }
+
+            List<Class<?>> classes = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                String className = classNames.get(i);
                 try {
-                    Class<?> clazz = Class.forName(packageName + "." + className);
+                    Class<?> clazz = Class.forName(className, false, classLoader);
                     // Filtrer uniquement les classes avec @Controller ou @RestController
                     if (clazz.isAnnotationPresent(Controller.class) || clazz.isAnnotationPresent(RestController.class)) {
                         classes.add(clazz);
                     }
                 } catch (ClassNotFoundException e) {
-                    System.out.println("Impossible de charger la classe: " + packageName + "." + className);
+                    System.out.println("Impossible de charger la classe: " + className);
                 } catch (NoClassDefFoundError e) {
                     // Ignorer les erreurs de classes internes ou dépendances manquantes
                 }
             }
+            return classes.isEmpty() ? Collections.emptyList() : classes;
         }
     }
 }
@@ -2,6 +2,9 @@ package framework.utilitaire;
 
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -15,6 +18,15 @@ public class ConfigLoader {
     private String viewSuffix;
     private String authSessionKey;
     private String authRoleKey;
+    private String routeIndexEnabled;
+    private String routeTableEnabled;
+    private Map<Integer, String> errorViews;
+    private String responseCacheMaxBytes;
+    private String etagEnabled;
+    private String bindingAutoGrowLimit;
+    private String jsonMaxDepth;
+    private String jsonMaxBytes;
+    private String validationFailFast;
     
     /**
      * Charge le package de base depuis le fichier config.properties
@@ -47,6 +59,15 @@ public class ConfigLoader {
                 viewSuffix = propOrDefault(props, "view.suffix", ".jsp");
                 authSessionKey = propOrDefault(props, "session.auth.key", "is_auth");
                 authRoleKey = propOrDefault(props, "session.role.key", "user_role");
+                routeIndexEnabled = propOrDefault(props, "route.index.enabled", "true");
+                routeTableEnabled = propOrDefault(props, "route.table.enabled", "true");
+                errorViews = loadErrorViews(props);
+                responseCacheMaxBytes = propOrDefault(props, "response.cache.max.bytes", String.valueOf(ResponseCache.DEFAULT_MAX_BYTES));
+                etagEnabled = propOrDefault(props, "etag.enabled", "true");
+                bindingAutoGrowLimit = propOrDefault(props, "binding.autogrow.limit", String.valueOf(BeanBindingPlan.DEFAULT_AUTO_GROW_LIMIT));
+                jsonMaxDepth = propOrDefault(props, "json.max.depth", String.valueOf(JsonBinder.DEFAULT_MAX_DEPTH));
+                jsonMaxBytes = propOrDefault(props, "json.max.bytes", String.valueOf(JsonBinder.DEFAULT_MAX_BYTES));
+                validationFailFast = propOrDefault(props, "validation.fail.fast", "false");
             } else {
                 System.out.println("ERREUR: Fichier config.properties introuvable!");
                 basePackage = "com.testframework"; // Valeur par défaut
@@ -54,6 +75,15 @@ public class ConfigLoader {
                 viewSuffix = ".jsp";
                 authSessionKey = "is_auth";
                 authRoleKey = "user_role";
+                routeIndexEnabled = "true";
+                routeTableEnabled = "true";
+                errorViews = Collections.emptyMap();
+                responseCacheMaxBytes = String.valueOf(ResponseCache.DEFAULT_MAX_BYTES);
+                etagEnabled = "true";
+                bindingAutoGrowLimit = String.valueOf(BeanBindingPlan.DEFAULT_AUTO_GROW_LIMIT);
+                jsonMaxDepth = String.valueOf(JsonBinder.DEFAULT_MAX_DEPTH);
+                jsonMaxBytes = String.valueOf(JsonBinder.DEFAULT_MAX_BYTES);
+                validationFailFast = "false";
             }
         } catch (Exception e) {
             System.out.println("Erreur lors du chargement du config.properties: " + e.getMessage());
@@ -62,6 +92,15 @@ public class ConfigLoader {
             viewSuffix = ".jsp";
             authSessionKey = "is_auth";
             authRoleKey = "user_role";
+            routeIndexEnabled = "true";
+            routeTableEnabled = "true";
+            errorViews = Collections.emptyMap();
+            responseCacheMaxBytes = String.valueOf(ResponseCache.DEFAULT_MAX_BYTES);
+            etagEnabled = "true";
+            bindingAutoGrowLimit = String.valueOf(BeanBindingPlan.DEFAULT_AUTO_GROW_LIMIT);
+            jsonMaxDepth = String.valueOf(JsonBinder.DEFAULT_MAX_DEPTH);
+            jsonMaxBytes = String.valueOf(JsonBinder.DEFAULT_MAX_BYTES);
+            validationFailFast = "false";
         } finally {
             if (input != null) {
                 try {
@@ -108,6 +147,125 @@ public class ConfigLoader {
         return authRoleKey;
     }
 
+    /**
+     * Index de routes persistant (WEB-INF/framework-routes.idx) activé ou non
+     */
+    public boolean isRouteIndexEnabled() {
+        if (routeIndexEnabled == null) {
+            loadConfiguration();
+        }
+        return Boolean.parseBoolean(routeIndexEnabled);
+    }
+
+    /**
+     * Utilisation de la table de routes générée à la compilation (RouteProcessor) si elle existe
+     */
+    public boolean isRouteTableEnabled() {
+        if (routeTableEnabled == null) {
+            loadConfiguration();
+        }
+        return Boolean.parseBoolean(routeTableEnabled);
+    }
+
+    /**
+     * Vues d'erreur personnalisées par code HTTP (error.view.404=erreurs/404)
+     */
+    public Map<Integer, String> getErrorViews() {
+        if (errorViews == null) {
+            loadConfiguration();
+        }
+        return errorViews != null ? errorViews : Collections.emptyMap();
+    }
+
+    /**
+     * Capacité du cache de réponses @Cacheable, en octets
+     */
+    public long getResponseCacheMaxBytes() {
+        if (responseCacheMaxBytes == null) {
+            loadConfiguration();
+        }
+        try {
+            return Long.parseLong(responseCacheMaxBytes);
+        } catch (NumberFormatException | NullPointerException e) {
+            return ResponseCache.DEFAULT_MAX_BYTES;
+        }
+    }
+
+    /**
+     * ETag et réponses 304 pour les résultats JSON (@RestController / @ResponseBody)
+     */
+    public boolean isEtagEnabled() {
+        if (etagEnabled == null) {
+            loadConfiguration();
+        }
+        return Boolean.parseBoolean(etagEnabled);
+    }
+
+    /**
+     * Nombre maximal d'éléments créés par la liaison d'un chemin indexé (lignes[3].quantite)
+     */
+    public int getBindingAutoGrowLimit() {
+        if (bindingAutoGrowLimit == null) {
+            loadConfiguration();
+        }
+        try {
+            return Integer.parseInt(bindingAutoGrowLimit);
+        } catch (NumberFormatException | NullPointerException e) {
+            return BeanBindingPlan.DEFAULT_AUTO_GROW_LIMIT;
+        }
+    }
+
+    /**
+     * Imbrication maximale (objets/tableaux) d'un corps @RequestBody
+     */
+    public int getJsonMaxDepth() {
+        if (jsonMaxDepth == null) {
+            loadConfiguration();
+        }
+        try {
+            return Integer.parseInt(jsonMaxDepth);
+        } catch (NumberFormatException | NullPointerException e) {
+            return JsonBinder.DEFAULT_MAX_DEPTH;
+        }
+    }
+
+    /**
+     * Taille maximale d'un corps @RequestBody, en octets
+     */
+    public long getJsonMaxBytes() {
+        if (jsonMaxBytes == null) {
+            loadConfiguration();
+        }
+        try {
+            return Long.parseLong(jsonMaxBytes);
+        } catch (NumberFormatException | NullPointerException e) {
+            return JsonBinder.DEFAULT_MAX_BYTES;
+        }
+    }
+
+    /**
+     * Validation des @ModelAttribute arrêtée à la première contrainte violée
+     */
+    public boolean isValidationFailFast() {
+        if (validationFailFast == null) {
+            loadConfiguration();
+        }
+        return Boolean.parseBoolean(validationFailFast);
+    }
+
+    private Map<Integer, String> loadErrorViews(Properties p) {
+        Map<Integer, String> views = new HashMap<>();
+        for (String key : p.stringPropertyNames()) {
+            if (!key.startsWith("error.view.")) continue;
+            try {
+                views.put(Integer.parseInt(key.substring("error.view.".length()).trim()), p.getProperty(key).trim());
+            } catch (NumberFormatException e) {
+                System.out.println("ATTENTION: code d'erreur invalide ignoré: " + key);
+            }
+        }
+        return Collections.unmodifiableMap(views);
+    }
+
     private String propOrDefault(Properties p, String key, String defVal) {
         String v = p.getProperty(key);
         return v != null ? v.trim() : defVal;
@@ -0,0 +1,168 @@
+package framework.utilitaire;
+
+import framework.annotation.Scope;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fournit les instances d'un contrôleur selon son scope (@Scope).
+ * Un seul fournisseur par classe, partagé par toutes ses routes et par le mapping conventionnel:
+ * le singleton est créé une fois au démarrage, le pool est commun à toutes les méthodes.
+ * Le scope REQUEST est traité par le servlet (attribut de requête); ici il se comporte comme PROTOTYPE.
+ */
+public final class ControllerProvider {
+
+    private static final Map<Class<?>, ControllerProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    /** Aucune instance POOLED libérée dans le délai (instances jamais rendues, créations en échec): 503 */
+    public static class PoolExhaustedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public PoolExhaustedException(String message) {
+            super(message);
+        }
+    }
+
+    private final Class<?> controllerClass;
+    private final Scope.Type scope;
+    private final Constructor<?> constructor;
+    private volatile Object singleton;
+    private final BlockingQueue<Object> pool;
+    private final AtomicInteger created = new AtomicInteger();
+    private final int poolSize;
+    private final long acquireTimeoutMillis;
+
+    private ControllerProvider(Class<?> controllerClass) throws NoSuchMethodException {
+        this.controllerClass = controllerClass;
+        this.scope = scopeOf(controllerClass);
+        this.constructor = controllerClass.getDeclaredConstructor();
+        if (!constructor.canAccess(null)) {
+            constructor.setAccessible(true);
+        }
+        Scope annotation = controllerClass.getAnnotation(Scope.class);
+        this.poolSize = scope == Scope.Type.POOLED ? Math.max(1, annotation.poolSize()) : 0;
+        this.pool = scope == Scope.Type.POOLED ? new ArrayBlockingQueue<>(poolSize) : null;
+        this.acquireTimeoutMillis = scope == Scope.Type.POOLED ? Math.max(0, annotation.acquireTimeout()) : 0;
+    }
+
+    /**
+     * Fournisseur de la classe (créé au premier appel; un singleton est instancié immédiatement).
+     * @throws NoSuchMethodException si le contrôleur n'a pas de constructeur sans argument
+     */
+    public static ControllerProvider of(Class<?> controllerClass) throws NoSuchMethodException {
+        ControllerProvider provider = PROVIDERS.get(controllerClass);
+        if (provider != null) {
+            return provider;
+        }
+        provider = new ControllerProvider(controllerClass);
+        ControllerProvider existing = PROVIDERS.putIfAbsent(controllerClass, provider);
+        if (existing != null) {
+            return existing;
+        }
+        if (provider.scope == Scope.Type.SINGLETON) {
+            try {
+                provider.singleton();
+            } catch (Exception e) {
+                // Nouvel essai au premier appel; l'erreur sera alors remontée à la requête
+                System.out.println("ATTENTION: instanciation du contrôleur " + controllerClass.getSimpleName()
+                        + " différée: " + e);
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Scope effectif: @Scope s'il est présent, sinon SINGLETON pour une classe sans état
+     * (aucun champ d'instance dans la hiérarchie), PROTOTYPE sinon.
+     */
+    static Scope.Type scopeOf(Class<?> controllerClass) {
+        Scope annotation = controllerClass.getAnnotation(Scope.class);
+        if (annotation != null) {
+            return annotation.value();
+        }
+        for (Class<?> c = controllerClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic()) {
+                    return Scope.Type.PROTOTYPE;
+                }
+            }
+        }
+        return Scope.Type.SINGLETON;
+    }
+
+    /**
+     * Instance à utiliser pour un appel; à rendre avec release() après l'invocation.
+     * @throws PoolExhaustedException pool POOLED plein et aucune instance rendue dans le délai acquireTimeout
+     */
+    public Object acquire() throws Exception {
+        switch (scope) {
+            case SINGLETON:
+                return singleton();
+            case POOLED: {
+                Object instance = pool.poll();
+                if (instance != null) {
+                    return instance;
+                }
+                // Pool pas encore plein: créer une instance supplémentaire, sinon attendre qu'une se libère
+                if (created.getAndIncrement() < poolSize) {
+                    try {
+                        return newInstance();
+                    } catch (Exception e) {
+                        created.decrementAndGet();
+                        throw e;
+                    }
+                }
+                created.decrementAndGet();
+                instance = pool.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (instance == null) {
+                    throw new PoolExhaustedException("No instance of " + controllerClass.getSimpleName()
+                            + " available after " + acquireTimeoutMillis + " ms");
+                }
+                return instance;
+            }
+            default:
+                return newInstance();
+        }
+    }
+
+    /** Rend une instance obtenue par acquire() (remise dans le pool pour POOLED) */
+    public void release(Object instance) {
+        if (scope == Scope.Type.POOLED && instance != null) {
+            pool.offer(instance);
+        }
+    }
+
+    public Scope.Type getScope() {
+        return scope;
+    }
+
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    public Object newInstance() throws Exception {
+        return constructor.newInstance();
+    }
+
+    private Object singleton() throws Exception {
+        Object instance = singleton;
+        if (instance == null) {
+            synchronized (this) {
+                instance = singleton;
+                if (instance == null) {
+                    instance = newInstance();
+                    singleton = instance;
+                }
+            }
+        }
+        return instance;
+    }
+}
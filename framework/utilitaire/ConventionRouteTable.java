@@ -0,0 +1,149 @@
+package framework.utilitaire;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table des routes conventionnelles /{section}/{method} -> {basePackage}.{section}.AdminController#{method}.
+ * Chaque section est résolue une seule fois: présence du fichier .class vérifiée via getResource
+ * (aucune exception), puis table nom -> méthode construite pour la classe.
+ * Les sections inconnues sont mémorisées dans un cache négatif borné (LRU): une URL de robot
+ * retombe en 404 sans réflexion ni exception.
+ */
+public final class ConventionRouteTable {
+
+    /** Taille maximale du cache négatif (sections inexistantes) */
+    public static final int NEGATIVE_CACHE_SIZE = 1024;
+
+    private static final String CONTROLLER_NAME = "AdminController";
+
+    private final String basePackage;
+    private final ClassLoader classLoader;
+    // Sections existantes: nom de méthode -> route (bornées par les classes réellement présentes)
+    private final Map<String, Map<String, Route>> sections = new ConcurrentHashMap<>();
+    // Sections inexistantes, les plus anciennes évincées au-delà de la capacité
+    private final Map<String, Boolean> misses;
+
+    public ConventionRouteTable(String basePackage, ClassLoader classLoader) {
+        this(basePackage, classLoader, NEGATIVE_CACHE_SIZE);
+    }
+
+    public ConventionRouteTable(String basePackage, ClassLoader classLoader, int negativeCacheSize) {
+        this.basePackage = basePackage;
+        this.classLoader = classLoader;
+        this.misses = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > negativeCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Résout un chemin de ressource ("/section/method[/...]").
+     * @return la route, ou null (404) si la section ou la méthode n'existe pas
+     */
+    public Route find(String path) {
+        if (basePackage == null || basePackage.isEmpty() || path == null) return null;
+        int start = path.startsWith("/") ? 1 : 0;
+        int slash = path.indexOf('/', start);
+        if (slash <= start) return null;
+        int end = path.indexOf('/', slash + 1);
+        if (end < 0) end = path.length();
+        if (end == slash + 1) return null;
+
+        Map<String, Route> methods = section(path.substring(start, slash));
+        return methods == null ? null : methods.get(path.substring(slash + 1, end));
+    }
+
+    /** Nombre de sections inexistantes actuellement mémorisées */
+    public int getNegativeCacheSize() {
+        return misses.size();
+    }
+
+    private Map<String, Route> section(String section) {
+        Map<String, Route> methods = sections.get(section);
+        if (methods != null || misses.containsKey(section)) {
+            return methods;
+        }
+        methods = resolve(section);
+        if (methods == null) {
+            misses.put(section, Boolean.TRUE);
+            return null;
+        }
+        Map<String, Route> existing = sections.putIfAbsent(section, methods);
+        return existing != null ? existing : methods;
+    }
+
+    /**
+     * Charge le contrôleur de la section et indexe ses méthodes, ou null si la classe n'existe pas
+     */
+    private Map<String, Route> resolve(String section) {
+        // Un segment d'URL n'est pas forcément un nom de package valide
+        if (!isIdentifier(section)) return null;
+        String className = basePackage + "." + section + "." + CONTROLLER_NAME;
+        if (classLoader.getResource(className.replace('.', '/') + ".class") == null) return null;
+
+        try {
+            Class<?> controller = Class.forName(className, true, classLoader);
+            ControllerProvider provider = ControllerProvider.of(controller);
+
+            Map<String, Route> methods = new HashMap<>();
+            // Méthodes sans paramètre de la hiérarchie (la plus spécifique d'abord), hors Object
+            for (Class<?> c = controller; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    if (m.getParameterCount() == 0 && !m.isSynthetic() && !methods.containsKey(m.getName())) {
+                        if (!Modifier.isPublic(m.getModifiers()) || !Modifier.isPublic(c.getModifiers())) {
+                            m.setAccessible(true);
+                        }
+                        methods.put(m.getName(), new Route(controller, m, provider));
+                    }
+                }
+            }
+            return methods;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Classe inutilisable (initialisation en échec, pas de constructeur sans argument...): traitée comme absente
+            return null;
+        }
+    }
+
+    private static boolean isIdentifier(String s) {
+        if (s.isEmpty() || !Character.isJavaIdentifierStart(s.charAt(0))) return false;
+        for (int i = 1; i < s.length(); i++) {
+            if (!Character.isJavaIdentifierPart(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Route conventionnelle résolue: contrôleur, méthode (accessible) et fournisseur d'instances
+     */
+    public static final class Route {
+        private final Class<?> controllerClass;
+        private final Method method;
+        private final ControllerProvider provider;
+
+        Route(Class<?> controllerClass, Method method, ControllerProvider provider) {
+            this.controllerClass = controllerClass;
+            this.method = method;
+            this.provider = provider;
+        }
+
+        public Class<?> getControllerClass() {
+            return controllerClass;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public ControllerProvider getProvider() {
+            return provider;
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package framework.utilitaire;
 
-import java.util.Objects;
-
+/**
+ * Couple (type source, type cible) des convertisseurs enregistrés.
+ * Les classes sont comparées par identité; le hachage est calculé une seule fois.
+ */
 class ConversionKey {
     private final Class<?> sourceType;
     private final Class<?> targetType;
+    private final int hash;
 
     ConversionKey(Class<?> sourceType, Class<?> targetType) {
         this.sourceType = sourceType;
         this.targetType = targetType;
+        this.hash = 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
     }
 
     @Override
@@ -16,11 +20,11 @@ class ConversionKey {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConversionKey that = (ConversionKey) o;
-        return Objects.equals(sourceType, that.sourceType) && Objects.equals(targetType, that.targetType);
+        return sourceType == that.sourceType && targetType == that.targetType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(sourceType, targetType);
+        return hash;
     }
 }
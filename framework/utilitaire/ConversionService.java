@@ -1,5 +1,14 @@
 package framework.utilitaire;
 
+import framework.annotation.EntityCache;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
 public class ConversionService {
 
     private static final ConversionService INSTANCE = new ConversionService();
@@ -30,43 +39,169 @@ public class ConversionService {
             return converter.convert(source);
         }
 
+        // Types scalaires (primitifs, BigDecimal, enums, java.time): analyseur partagé, sans réflexion
+        ScalarParsers.Parser parser = ScalarParsers.parserFor(targetType);
+        if (parser != null) {
+            return convertPrimitive(source, parser);
+        }
+
         // Essayer une factory statique sur le type cible (ex: fromId(String))
         T viaFactory = convertViaStaticFactory(source, targetType);
         if (viaFactory != null) {
             return viaFactory;
         }
 
-        return convertPrimitive(source, targetType);
+        throw new IllegalArgumentException("No converter found for " + sourceType.getName() + " -> " + targetType.getName());
     }
 
     @SuppressWarnings("unchecked")
     private <T> T convertViaStaticFactory(Object source, Class<T> targetType) {
         if (source == null) return null;
+        MethodHandle factory = FACTORIES.get(targetType);
+        if (factory == ABSENT) return null;
         String raw = source.toString();
         try {
-            // Convention simple: méthode statique fromId(String)
-            java.lang.reflect.Method m = targetType.getDeclaredMethod("fromId", String.class);
-            if (!m.isAccessible()) m.setAccessible(true);
-            Object res = m.invoke(null, raw);
-            return (T) res;
-        } catch (NoSuchMethodException e) {
-            return null;
+            EntityLookupCache cache = ENTITY_CACHES.get(targetType);
+            if (cache != null) {
+                return (T) cache.get(raw, () -> invokeFactory(factory, raw));
+            }
+            return (T) invokeFactory(factory, raw);
         } catch (Throwable t) {
             throw new IllegalArgumentException("Error invoking static factory on " + targetType.getName() + ": " + t.getMessage(), t);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T convertPrimitive(Object source, Class<T> targetType) {
-        if (source == null) return null;
-        String raw = source.toString();
+    private static Object invokeFactory(MethodHandle factory, String raw) throws Exception {
+        try {
+            return (Object) factory.invokeExact(raw);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new java.lang.reflect.UndeclaredThrowableException(t);
+        }
+    }
+
+    /**
+     * Cache d'entités des types annotés @EntityCache (null pour les autres types)
+     */
+    private static final ClassValue<EntityLookupCache> ENTITY_CACHES = new ClassValue<EntityLookupCache>() {
+        @Override
+        protected EntityLookupCache computeValue(Class<?> type) {
+            EntityCache annotation = type.getAnnotation(EntityCache.class);
+            if (annotation == null) return null;
+            if (!isImmutable(type)) {
+                // Instance partagée entre requêtes: une modification serait vue par tous les utilisateurs
+                System.out.println("ATTENTION: @EntityCache ignoré sur " + type.getName()
+                        + " (champs d'instance non final)");
+                return null;
+            }
+            return new EntityLookupCache(annotation.maxSize(), annotation.ttl() * 1000L);
+        }
+    };
+
+    // Tous les champs d'instance de la hiérarchie sont final
+    private static boolean isImmutable(Class<?> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (java.lang.reflect.Field f : c.getDeclaredFields()) {
+                int mod = f.getModifiers();
+                if (!java.lang.reflect.Modifier.isStatic(mod) && !java.lang.reflect.Modifier.isFinal(mod)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 
-        if (targetType == String.class) return (T) raw;
-        if (targetType == Integer.class || targetType == int.class) return (T) Integer.valueOf(raw);
-        if (targetType == Long.class || targetType == long.class) return (T) Long.valueOf(raw);
-        if (targetType == Double.class || targetType == double.class) return (T) Double.valueOf(raw);
-        if (targetType == Boolean.class || targetType == boolean.class) return (T) Boolean.valueOf(raw);
+    /** Retire un identifiant du cache d'entités du type (après une modification en base, par exemple) */
+    public static void invalidateEntity(Class<?> type, String id) {
+        EntityLookupCache cache = ENTITY_CACHES.get(type);
+        if (cache != null) cache.invalidate(id);
+    }
+
+    /** Vide le cache d'entités du type */
+    public static void invalidateEntities(Class<?> type) {
+        EntityLookupCache cache = ENTITY_CACHES.get(type);
+        if (cache != null) cache.invalidateAll();
+    }
 
-        throw new IllegalArgumentException("No converter found for " + source.getClass().getName() + " -> " + targetType.getName());
+    /** Cache d'entités du type, null s'il n'est pas annoté @EntityCache (statistiques) */
+    public static EntityLookupCache getEntityCache(Class<?> type) {
+        return ENTITY_CACHES.get(type);
+    }
+
+    /** Marqueur "aucune factory" mémorisé pour un type (comparé par identité) */
+    private static final MethodHandle ABSENT = MethodHandles.constant(Object.class, null);
+
+    /**
+     * Factory String -> type, recherchée une seule fois par type cible puis mémorisée
+     * (handle de type (String)Object, ou ABSENT): aucune exception de réflexion par conversion.
+     */
+    private static final ClassValue<MethodHandle> FACTORIES = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findStaticFactory(type);
+        }
+    };
+
+    /**
+     * Par ordre de préférence: fromId(String) (convention historique), valueOf(String), of(String),
+     * parse(CharSequence), parse(String), puis constructeur (String).
+     * Les wrappers et String restent traités par convertPrimitive.
+     */
+    private static MethodHandle findStaticFactory(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type == String.class
+                || type == Integer.class || type == Long.class || type == Double.class || type == Boolean.class) {
+            return ABSENT;
+        }
+        MethodType signature = MethodType.methodType(Object.class, String.class);
+        String[] names = {"fromId", "valueOf", "of", "parse", "parse"};
+        Class<?>[] params = {String.class, String.class, String.class, CharSequence.class, String.class};
+        for (int i = 0; i < names.length; i++) {
+            Method m = declaredMethod(type, names[i], params[i]);
+            if (m == null || !Modifier.isStatic(m.getModifiers()) || !type.isAssignableFrom(m.getReturnType())) continue;
+            MethodHandle handle = unreflect(m);
+            if (handle != null) return handle.asType(signature);
+        }
+        if (!Modifier.isAbstract(type.getModifiers())) {
+            for (Constructor<?> c : type.getDeclaredConstructors()) {
+                if (c.getParameterCount() == 1 && c.getParameterTypes()[0] == String.class) {
+                    try {
+                        if (!Modifier.isPublic(c.getModifiers())) c.setAccessible(true);
+                        return MethodHandles.lookup().unreflectConstructor(c).asType(signature);
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        // Constructeur inaccessible (module fermé): pas de factory
+                    }
+                }
+            }
+        }
+        return ABSENT;
+    }
+
+    // Recherche sans exception: parcours des méthodes déclarées
+    private static Method declaredMethod(Class<?> type, String name, Class<?> param) {
+        for (Method m : type.getDeclaredMethods()) {
+            if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == param && m.getName().equals(name)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(Method m) {
+        try {
+            if (!Modifier.isPublic(m.getModifiers()) || !Modifier.isPublic(m.getDeclaringClass().getModifiers())) {
+                m.setAccessible(true);
+            }
+            return MethodHandles.lookup().unreflect(m);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Méthode inaccessible (module fermé): candidate suivante
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convertPrimitive(Object source, ScalarParsers.Parser parser) {
+        CharSequence raw = source instanceof CharSequence ? (CharSequence) source : source.toString();
+        return (T) parser.parse(raw);
     }
 }
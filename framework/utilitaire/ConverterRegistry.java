@@ -1,26 +1,117 @@
 package framework.utilitaire;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registre des convertisseurs, sûr en accès concurrent.
+ * - enregistrements: table immuable remplacée à chaque ajout (copie sur écriture, rare et au démarrage)
+ * - recherches: résolues une fois par couple (source, cible) puis mémorisées, y compris les absences,
+ *   dans un index par classe source (ClassValue) -> aucune allocation après la première recherche
+ * La résolution suit la hiérarchie de la source (classe, interfaces, superclasses) et accepte
+ * indifféremment un type primitif ou son wrapper, côté source comme côté cible.
+ */
 public class ConverterRegistry {
 
-    private final Map<ConversionKey, Converter<?, ?>> converters = new HashMap<>();
+    // Marqueur d'absence mémorisée (un convertisseur ne peut pas être null)
+    private static final Object NONE = new Object();
+
+    private volatile Map<ConversionKey, Converter<?, ?>> converters = Collections.emptyMap();
+    // Remplacé à chaque enregistrement: invalide d'un coup toutes les résolutions mémorisées
+    private volatile ClassValue<ConcurrentHashMap<Class<?>, Object>> lookups = newLookups();
 
     public void registerConverter(Class<?> sourceType, Class<?> targetType, Converter<?, ?> converter) {
         if (sourceType == null || targetType == null || converter == null) {
             throw new IllegalArgumentException("sourceType, targetType and converter must not be null");
         }
-        converters.put(new ConversionKey(sourceType, targetType), converter);
+        synchronized (this) {
+            Map<ConversionKey, Converter<?, ?>> copy = new HashMap<>(converters);
+            copy.put(new ConversionKey(sourceType, targetType), converter);
+            converters = copy;
+            lookups = newLookups();
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <S, T> Converter<S, T> getConverter(Class<S> sourceType, Class<T> targetType) {
-        Converter<?, ?> converter = converters.get(new ConversionKey(sourceType, targetType));
-        return (Converter<S, T>) converter;
+        ConcurrentHashMap<Class<?>, Object> byTarget = lookups.get(sourceType);
+        Object converter = byTarget.get(targetType);
+        if (converter == null) {
+            converter = resolve(sourceType, targetType);
+            Object existing = byTarget.putIfAbsent(targetType, converter);
+            if (existing != null) converter = existing;
+        }
+        return converter == NONE ? null : (Converter<S, T>) converter;
     }
 
     public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
-        return converters.containsKey(new ConversionKey(sourceType, targetType));
+        return getConverter(sourceType, targetType) != null;
+    }
+
+    private static ClassValue<ConcurrentHashMap<Class<?>, Object>> newLookups() {
+        return new ClassValue<ConcurrentHashMap<Class<?>, Object>>() {
+            @Override
+            protected ConcurrentHashMap<Class<?>, Object> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    /**
+     * Convertisseur le plus spécifique: la source elle-même, puis ses interfaces et superclasses
+     * (parcours en largeur), chacune avec la cible exacte puis sa forme primitive/wrapper.
+     */
+    private Object resolve(Class<?> sourceType, Class<?> targetType) {
+        Map<ConversionKey, Converter<?, ?>> registered = converters;
+        if (registered.isEmpty()) return NONE;
+        Class<?> altTarget = alternate(targetType);
+
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        queue.add(sourceType);
+        Class<?> altSource = alternate(sourceType);
+        if (altSource != null) queue.add(altSource);
+        while (!queue.isEmpty()) {
+            Class<?> source = queue.poll();
+            if (!seen.add(source)) continue;
+            Converter<?, ?> converter = registered.get(new ConversionKey(source, targetType));
+            if (converter == null && altTarget != null) {
+                converter = registered.get(new ConversionKey(source, altTarget));
+            }
+            if (converter != null) return converter;
+            Collections.addAll(queue, source.getInterfaces());
+            if (source.getSuperclass() != null) queue.add(source.getSuperclass());
+        }
+        return NONE;
+    }
+
+    /** Wrapper d'un type primitif ou primitif d'un wrapper, null pour les autres types */
+    private static Class<?> alternate(Class<?> type) {
+        if (type.isPrimitive()) {
+            if (type == int.class) return Integer.class;
+            if (type == long.class) return Long.class;
+            if (type == double.class) return Double.class;
+            if (type == boolean.class) return Boolean.class;
+            if (type == float.class) return Float.class;
+            if (type == short.class) return Short.class;
+            if (type == byte.class) return Byte.class;
+            if (type == char.class) return Character.class;
+            return null;
+        }
+        if (type == Integer.class) return int.class;
+        if (type == Long.class) return long.class;
+        if (type == Double.class) return double.class;
+        if (type == Boolean.class) return boolean.class;
+        if (type == Float.class) return float.class;
+        if (type == Short.class) return short.class;
+        if (type == Byte.class) return byte.class;
+        if (type == Character.class) return char.class;
+        return null;
     }
 }
@@ -0,0 +1,77 @@
+package framework.utilitaire;
+
+/**
+ * Calcul et comparaison des ETag des réponses JSON.
+ * ETag fort = hachage FNV-1a 64 bits des octets sérialisés (rapide, non cryptographique:
+ * il ne sert qu'à détecter un changement de contenu), ou version fournie par le résultat (Versioned).
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ETags() {
+    }
+
+    /** ETag fort du contenu: "<16 chiffres hexadécimaux>" */
+    public static String of(byte[] body) {
+        return of(body, 0, body.length);
+    }
+
+    public static String of(byte[] body, int offset, int length) {
+        long hash = FNV_OFFSET;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash ^= body[i] & 0xff;
+            hash *= FNV_PRIME;
+        }
+        char[] tag = new char[18];
+        tag[0] = '"';
+        for (int i = 16; i >= 1; i--) {
+            tag[i] = HEX[(int) (hash & 0xf)];
+            hash >>>= 4;
+        }
+        tag[17] = '"';
+        return new String(tag);
+    }
+
+    /**
+     * ETag fort tiré d'une version applicative: "v<version>"
+     * (caractères hors ETag et virgules, séparateurs de If-None-Match, remplacés par '_')
+     */
+    public static String ofVersion(String version) {
+        StringBuilder sb = new StringBuilder(version.length() + 3).append("\"v");
+        for (int i = 0; i < version.length(); i++) {
+            char c = version.charAt(i);
+            // etagc = %x21 / %x23-7E (RFC 7232)
+            sb.append(c != ',' && (c == 0x21 || (c >= 0x23 && c <= 0x7e)) ? c : '_');
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * true si l'en-tête If-None-Match désigne cet ETag ("*" ou liste; comparaison faible, W/ ignoré)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        int len = ifNoneMatch.length();
+        int i = 0;
+        while (i < len) {
+            // Sauter séparateurs et espaces
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '*') return true;
+            if (ifNoneMatch.startsWith("W/", i)) i += 2;
+            int end = ifNoneMatch.indexOf(',', i);
+            if (end < 0) end = len;
+            int tagEnd = end;
+            while (tagEnd > i && (ifNoneMatch.charAt(tagEnd - 1) == ' ' || ifNoneMatch.charAt(tagEnd - 1) == '\t')) tagEnd--;
+            if (tagEnd - i == etag.length() && ifNoneMatch.regionMatches(i, etag, 0, etag.length())) return true;
+            i = end + 1;
+        }
+        return false;
+    }
+}
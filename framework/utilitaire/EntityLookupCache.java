@@ -0,0 +1,110 @@
+package framework.utilitaire;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache identifiant -> objet d'un type @EntityCache, alimenté par sa factory statique.
+ * Borné (LRU), entrées expirées à la lecture, résultats null mémorisés aussi (identifiant inconnu).
+ * Les absences simultanées d'un même identifiant partagent un seul chargement (RequestCoalescer).
+ * Un chargement commencé avant une invalidation n'est ni mémorisé (génération comparée à l'écriture)
+ * ni partagé avec les appels suivants (génération incluse dans la clé de regroupement).
+ */
+public final class EntityLookupCache {
+
+    // Résultat null mémorisé (identifiant sans objet)
+    private static final Object NULL = new Object();
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+    private final RequestCoalescer<Object> loads = new RequestCoalescer<>();
+    // Incrémentée par chaque invalidation (sous le verrou de l'instance)
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EntityLookupCache(int maxSize, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        int capacity = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Objet de cet identifiant, chargé par loader en cas d'absence ou d'expiration
+     * @throws Exception l'exception du chargement (rien n'est alors mémorisé)
+     */
+    public Object get(String id, RequestCoalescer.Task<Object> loader) throws Exception {
+        long now = System.currentTimeMillis();
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.value == NULL ? null : entry.value;
+                }
+                entries.remove(id);
+            }
+        }
+        misses.increment();
+        // Pas de délai d'attente: un chargement plus lent aurait de toute façon été refait par chaque appelant.
+        // Clé par génération: un appel postérieur à une invalidation ne rejoint pas un chargement antérieur
+        Object value = loads.execute(id + '\u0000' + startGeneration, Long.MAX_VALUE, () -> {
+            Object loaded = loader.run();
+            Object stored = loaded == null ? NULL : loaded;
+            synchronized (this) {
+                // Invalidé pendant le chargement: la valeur lue peut déjà être périmée
+                if (generation == startGeneration) {
+                    entries.put(id, new Entry(stored, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+            return stored;
+        });
+        return value == NULL ? null : value;
+    }
+
+    public synchronized void invalidate(String id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Nombre d'appels réels de la factory */
+    public long getLoadCount() {
+        return loads.getExecutionCount();
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package framework.utilitaire;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,44 +31,12 @@ public class FormMapper {
             source = new HashMap<>();
         }
         try {
-            T target = targetClass.getDeclaredConstructor().newInstance();
+            BeanBindingPlan plan = BeanBindingPlan.of(targetClass);
+            T target = targetClass.cast(plan.instantiate());
             FormMappingException mappingException = new FormMappingException("Form mapping errors");
 
-            for (Field field : targetClass.getDeclaredFields()) {
-                String fieldName = field.getName();
-                if (!source.containsKey(fieldName)) {
-                    continue;
-                }
-                Object rawValue = source.get(fieldName);
-                Class<?> fieldType = field.getType();
-                Object converted;
-                try {
-                    converted = convertValue(rawValue, fieldType);
-                } catch (RuntimeException e) {
-                    mappingException.addFieldError(fieldName, "Invalid value '" + rawValue + "' for type " + fieldType.getSimpleName());
-                    continue;
-                }
-
-                boolean set = false;
-                String setterName = "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-                try {
-                    Method setter = targetClass.getMethod(setterName, fieldType);
-                    setter.invoke(target, converted);
-                    set = true;
-                } catch (NoSuchMethodException ignored) {
-                }
-
-                if (!set) {
-                    boolean accessible = field.canAccess(target);
-                    if (!accessible) {
-                        field.setAccessible(true);
-                    }
-                    field.set(target, converted);
-                    if (!accessible) {
-                        field.setAccessible(false);
-                    }
-                }
-            }
+            plan.bind(target, new MapBindingSource(source), (field, raw, type, cause) ->
+                    mappingException.addFieldError(field, "Invalid value '" + raw + "' for type " + type.getSimpleName()));
 
             if (mappingException.hasErrors()) {
                 throw mappingException;
@@ -82,35 +49,52 @@ public class FormMapper {
         }
     }
 
-    private static Object convertValue(Object raw, Class<?> type) {
-        if (raw == null) {
-            return null;
+    /**
+     * Valeurs d'une Map de formulaire: chaîne (éventuellement délimitée), String[] (ex: request.getParameterMap())
+     * ou Collection; une valeur déjà du type du champ est affectée telle quelle.
+     */
+    private static final class MapBindingSource implements BindingSource {
+        private final Map<String, Object> source;
+
+        MapBindingSource(Map<String, Object> source) {
+            this.source = source;
         }
 
-        // Si la valeur est déjà du bon type, la retourner directement
-        if (type.isInstance(raw)) {
-            return raw;
+        @Override
+        public Iterable<String> getNames() {
+            return source.keySet();
         }
 
-        // Si la valeur est une chaîne, utiliser la conversion simple
-        if (raw instanceof String) {
-            return convertSimple((String) raw, type);
+        @Override
+        public Object getObject(String name, Class<?> type) {
+            Object raw = source.get(name);
+            // Tableaux et collections toujours reconvertis (éléments typés, valeurs délimitées)
+            return type.isInstance(raw) && !MultiValueParsers.isMultiValued(type) ? raw : null;
         }
 
-        // Dernier recours : utiliser toString() puis conversion simple
-        return convertSimple(raw.toString(), type);
-    }
+        @Override
+        public String getValue(String name) {
+            Object raw = source.get(name);
+            if (raw == null || raw instanceof String) return (String) raw;
+            if (raw instanceof String[] || raw instanceof Collection) return BindingSource.super.getValue(name);
+            return raw.toString();
+        }
 
-    private static Object convertSimple(String raw, Class<?> type) {
-        if (type == String.class) return raw;
-        if (type == int.class) return raw == null || raw.isEmpty() ? 0 : Integer.parseInt(raw);
-        if (type == Integer.class) return raw == null || raw.isEmpty() ? null : Integer.valueOf(raw);
-        if (type == long.class) return raw == null || raw.isEmpty() ? 0L : Long.parseLong(raw);
-        if (type == Long.class) return raw == null || raw.isEmpty() ? null : Long.valueOf(raw);
-        if (type == double.class) return raw == null || raw.isEmpty() ? 0d : Double.parseDouble(raw);
-        if (type == Double.class) return raw == null || raw.isEmpty() ? null : Double.valueOf(raw);
-        if (type == boolean.class) return raw != null && ("true".equalsIgnoreCase(raw) || "1".equals(raw));
-        if (type == Boolean.class) return raw == null ? null : ("true".equalsIgnoreCase(raw) || "1".equals(raw));
-        return null;
+        @Override
+        public String[] getValues(String name) {
+            Object raw = source.get(name);
+            if (raw == null) return null;
+            if (raw instanceof String[]) return (String[]) raw;
+            if (raw instanceof Collection) {
+                Collection<?> items = (Collection<?>) raw;
+                String[] values = new String[items.size()];
+                int i = 0;
+                for (Object item : items) {
+                    values[i++] = item == null ? null : item.toString();
+                }
+                return values;
+            }
+            return new String[] { raw.toString() };
+        }
     }
 }
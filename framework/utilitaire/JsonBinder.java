@@ -0,0 +1,189 @@
+package framework.utilitaire;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Liaison d'un document JSON vers un type Java, au fil de la lecture (JsonReader):
+ * objets via le BeanBindingPlan de la classe (mêmes propriétés, setters et recherche par nom que
+ * la liaison de formulaire), scalaires via ScalarParsers, entités via ConversionService.
+ * Le corps n'est jamais matérialisé en String; profondeur et taille sont bornées
+ * par json.max.depth et json.max.bytes.
+ */
+public final class JsonBinder {
+
+    public static final int DEFAULT_MAX_DEPTH = 32;
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private static volatile int maxDepth = DEFAULT_MAX_DEPTH;
+    private static volatile long maxBytes = DEFAULT_MAX_BYTES;
+
+    private JsonBinder() {
+    }
+
+    /** Limites appliquées aux lectures suivantes (valeurs <= 0: défaut) */
+    public static void setLimits(int depth, long bytes) {
+        maxDepth = depth > 0 ? depth : DEFAULT_MAX_DEPTH;
+        maxBytes = bytes > 0 ? bytes : DEFAULT_MAX_BYTES;
+    }
+
+    public static int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public static long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Lit un document complet depuis le flux.
+     * @param genericType type générique déclaré (éléments des collections), ou type lui-même
+     * @return la valeur liée, ou null si le corps est vide
+     * @throws JsonReader.JsonException document invalide, valeur inconvertible ou limite dépassée
+     */
+    public static Object read(InputStream in, Charset charset, Class<?> type, Type genericType) throws IOException {
+        JsonReader reader = new JsonReader(in, charset, maxDepth, maxBytes);
+        if (reader.peek() == JsonReader.Token.END_DOCUMENT) return null;
+        Object value;
+        try {
+            value = readValue(reader, type, genericType);
+        } catch (JsonReader.JsonException e) {
+            throw e;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            // Conversion refusée (nombre invalide, constante inconnue...) ou objet non instanciable
+            throw new JsonReader.JsonException("Invalid JSON value for " + type.getSimpleName() + ": " + e.getMessage(), false, e);
+        }
+        reader.peek();
+        return value;
+    }
+
+    private static Object readValue(JsonReader reader, Class<?> type, Type genericType) throws Exception {
+        JsonReader.Token token = reader.peek();
+        if (token == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        ScalarParsers.Parser scalar = ScalarParsers.parserFor(type);
+        if (scalar != null) {
+            if (token == JsonReader.Token.BOOLEAN) {
+                boolean b = reader.nextBoolean();
+                if (type == boolean.class || type == Boolean.class) return b;
+                if (type == String.class) return String.valueOf(b);
+                throw new JsonReader.JsonException("Expected " + type.getSimpleName() + " but was a boolean");
+            }
+            return scalar.parse(reader.nextString());
+        }
+
+        if (type.isArray()) {
+            List<Object> items = readList(reader, type.getComponentType(), type.getComponentType(), new ArrayList<>());
+            Object array = Array.newInstance(type.getComponentType(), items.size());
+            for (int i = 0; i < items.size(); i++) {
+                Object item = items.get(i);
+                if (item != null) Array.set(array, i, item);
+            }
+            return array;
+        }
+        if (Collection.class.isAssignableFrom(type) || type == Iterable.class) {
+            Class<?> element = typeArgument(genericType, 0);
+            Collection<Object> target = Set.class.isAssignableFrom(type) ? new LinkedHashSet<>() : new ArrayList<>();
+            return readList(reader, element, element, target);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return readMap(reader, typeArgument(genericType, 1));
+        }
+        if (type == Object.class) {
+            return readAny(reader);
+        }
+
+        // Valeur simple vers un type non scalaire: identifiant d'entité ("dept": 2) via ConversionService
+        if (token == JsonReader.Token.STRING || token == JsonReader.Token.NUMBER) {
+            return ConversionService.getInstance().convert(reader.nextString().toString(), type);
+        }
+        return readBean(reader, BeanBindingPlan.of(type));
+    }
+
+    private static Object readBean(JsonReader reader, BeanBindingPlan plan) throws Exception {
+        Object bean = plan.instantiate();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            CharSequence name = reader.nextName();
+            // Recherche directe dans la table du plan, sur le tampon du lecteur
+            BeanBindingPlan.Property p = plan.find(name, 0, name.length());
+            if (p == null) {
+                reader.skipValue();
+                continue;
+            }
+            BeanBindingPlan.setProperty(bean, p, readValue(reader, p.type, p.genericType));
+        }
+        reader.endObject();
+        return bean;
+    }
+
+    private static <C extends Collection<Object>> C readList(JsonReader reader, Class<?> element, Type elementGeneric,
+                                                             C target) throws Exception {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            target.add(readValue(reader, element, elementGeneric));
+        }
+        reader.endArray();
+        return target;
+    }
+
+    private static Map<String, Object> readMap(JsonReader reader, Class<?> valueType) throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName().toString();
+            map.put(key, readValue(reader, valueType, valueType));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    // Cible Object: Map, List, String, Long/Double, Boolean
+    private static Object readAny(JsonReader reader) throws Exception {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readMap(reader, Object.class);
+            case BEGIN_ARRAY:
+                return readList(reader, Object.class, Object.class, new ArrayList<>());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER: {
+                CharSequence n = reader.nextString();
+                for (int i = 0; i < n.length(); i++) {
+                    char c = n.charAt(i);
+                    if (c == '.' || c == 'e' || c == 'E') return ScalarParsers.parseDouble(n, 0, n.length());
+                }
+                return ScalarParsers.parseLong(n, 0, n.length());
+            }
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                return reader.nextString().toString();
+        }
+    }
+
+    private static Class<?> typeArgument(Type generic, int index) {
+        if (generic instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) generic).getActualTypeArguments();
+            if (index < args.length && args[index] instanceof Class) return (Class<?>) args[index];
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,364 @@
+package framework.utilitaire;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Lecteur JSON en flux (pull): les jetons sont lus à la demande depuis le flux, sans jamais
+ * charger le document entier. Noms et valeurs sont exposés dans des tampons réutilisés
+ * (CharSequence valide jusqu'au jeton suivant), analysés directement par ScalarParsers.
+ * Profondeur d'imbrication et nombre d'octets lus sont bornés.
+ */
+public final class JsonReader {
+
+    public enum Token { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    /** Document invalide ou limite dépassée (400, ou 413 si isTooLarge) */
+    public static class JsonException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean tooLarge;
+
+        public JsonException(String message) {
+            this(message, false, null);
+        }
+
+        public JsonException(String message, boolean tooLarge, Throwable cause) {
+            super(message, cause);
+            this.tooLarge = tooLarge;
+        }
+
+        public boolean isTooLarge() {
+            return tooLarge;
+        }
+    }
+
+    // Contextes de la pile d'imbrication
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[4096];
+    private int pos;
+    private int limit;
+
+    private final int maxDepth;
+    private final int[] stack;
+    private int stackSize;
+
+    private Token peeked;
+    private boolean peekedBoolean;
+    private final StringBuilder name = new StringBuilder(32);
+    private final StringBuilder value = new StringBuilder(64);
+
+    /**
+     * @param maxDepth nombre maximal d'objets/tableaux imbriqués
+     * @param maxBytes nombre maximal d'octets lus depuis le flux
+     */
+    public JsonReader(InputStream input, Charset charset, int maxDepth, long maxBytes) {
+        this.in = new InputStreamReader(new LimitedInputStream(input, maxBytes), charset);
+        this.maxDepth = maxDepth;
+        this.stack = new int[maxDepth + 1];
+        this.stack[0] = EMPTY_DOCUMENT;
+        this.stackSize = 1;
+    }
+
+    /** Prochain jeton, sans le consommer */
+    public Token peek() throws IOException {
+        if (peeked != null) return peeked;
+        int c;
+        switch (stack[stackSize - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace();
+                if (c < 0) return peeked = Token.END_DOCUMENT;
+                return peeked = readValue(c);
+            case NONEMPTY_DOCUMENT:
+                if (nextNonWhitespace() >= 0) throw syntaxError("Unexpected data after the document");
+                return peeked = Token.END_DOCUMENT;
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') return peeked = Token.END_ARRAY;
+                return peeked = readValue(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') return peeked = Token.END_ARRAY;
+                if (c != ',') throw syntaxError("Expected ',' or ']'");
+                return peeked = readValue(nextNonWhitespace());
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') return peeked = Token.END_OBJECT;
+                if (stack[stackSize - 1] == NONEMPTY_OBJECT) {
+                    if (c != ',') throw syntaxError("Expected ',' or '}'");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') throw syntaxError("Expected a property name");
+                readString(name);
+                if (nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+                stack[stackSize - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                return peeked = readValue(nextNonWhitespace());
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    /** true s'il reste un élément ou une propriété dans l'objet/tableau courant */
+    public boolean hasNext() throws IOException {
+        Token t = peek();
+        return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END_DOCUMENT;
+    }
+
+    /** Nom de propriété (tampon réutilisé) */
+    public CharSequence nextName() throws IOException {
+        expect(Token.NAME);
+        return name;
+    }
+
+    /** Valeur chaîne ou nombre, sous forme de texte (tampon réutilisé) */
+    public CharSequence nextString() throws IOException {
+        Token t = peek();
+        if (t != Token.STRING && t != Token.NUMBER) throw syntaxError("Expected a string but was " + t);
+        peeked = null;
+        return value;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return peekedBoolean;
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    /** Ignore la valeur suivante, objets et tableaux imbriqués compris */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of document");
+                default:
+                    peeked = null;
+            }
+        } while (depth > 0);
+    }
+
+    private void expect(Token token) throws IOException {
+        Token t = peek();
+        if (t != token) throw syntaxError("Expected " + token + " but was " + t);
+        peeked = null;
+    }
+
+    private void push(int context) {
+        if (stackSize > maxDepth) {
+            throw new JsonException("JSON nesting exceeds max depth " + maxDepth);
+        }
+        stack[stackSize++] = context;
+    }
+
+    // --- Lecture des valeurs ---
+
+    private Token readValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                readString(value);
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                readLiteral("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                readLiteral("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(c);
+                    return Token.NUMBER;
+                }
+                throw syntaxError(c < 0 ? "Unexpected end of document" : "Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readString(StringBuilder out) throws IOException {
+        out.setLength(0);
+        while (true) {
+            // Copie par blocs jusqu'au prochain guillemet ou échappement
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == '"' || c == '\\') break;
+                pos++;
+            }
+            out.append(buffer, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) throw syntaxError("Unterminated string");
+                continue;
+            }
+            char c = buffer[pos++];
+            if (c == '"') return;
+            int e = read();
+            switch (e) {
+                case '"': case '\\': case '/': out.append((char) e); break;
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'n': out.append('\n'); break;
+                case 'r': out.append('\r'); break;
+                case 't': out.append('\t'); break;
+                case 'u': {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int d = Character.digit(read(), 16);
+                        if (d < 0) throw syntaxError("Invalid unicode escape");
+                        code = (code << 4) | d;
+                    }
+                    out.append((char) code);
+                    break;
+                }
+                default:
+                    throw syntaxError("Invalid escape sequence");
+            }
+        }
+    }
+
+    // Caractères du nombre; la validation revient à l'analyseur du type cible
+    private void readNumber(int first) throws IOException {
+        value.setLength(0);
+        value.append((char) first);
+        while (true) {
+            if (pos == limit && !fill()) return;
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                value.append(c);
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw syntaxError("Invalid literal");
+        }
+    }
+
+    // --- Tampon de caractères ---
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos++];
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            pos = limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private JsonException syntaxError(String message) {
+        return new JsonException("Malformed JSON: " + message);
+    }
+
+    /** Coupe la lecture au-delà de maxBytes (corps trop volumineux: 413) */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new JsonException("JSON body exceeds " + maxBytes + " bytes", true, null);
+            }
+        }
+    }
+}
@@ -38,6 +38,27 @@ public class MappingInfo {
         }
     }
     
+    /**
+     * Vue compatible construite à partir d'un résultat de recherche (sans réflexion)
+     */
+    public MappingInfo(RouteMatch match) {
+        RouteDescriptor rd = match.getDescriptor();
+        this.controllerClass = rd.getControllerClass();
+        this.method = rd.getMethod();
+        this.url = rd.getTemplate();
+        this.httpMethod = rd.getHttpMethod();
+        this.found = true;
+        this.pathVariables = new HashMap<>();
+        this.methodNotAllowed = false;
+        this.allowedMethods = null;
+        this.authAnnotation = method.isAnnotationPresent(framework.annotation.Auth.class)
+                ? method.getAnnotation(framework.annotation.Auth.class)
+                : controllerClass.getAnnotation(framework.annotation.Auth.class);
+        for (int i = 0; i < rd.getVariableCount(); i++) {
+            this.pathVariables.put(rd.getVariableName(i), match.getPathValue(i));
+        }
+    }
+    
     public MappingInfo() {
         this.found = false;
         this.pathVariables = new HashMap<>();
@@ -5,23 +5,35 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility to invoke methods via reflection.
  * - execute: instance method by name and signature
  * - executeStatic: static method by name and signature
+ * - resolve / invoke: cached lookup, then invocation of the resolved method
  * - invokeAllNoArg: invoke all no-arg methods (optionally including private)
+ * Resolved methods are cached per class (already made accessible), so repeated calls
+ * skip the getDeclaredMethod walk and setAccessible.
  */
 public class MethodInvoker {
 
+    // name -> resolved signatures (accessible Method), per class
+    private static final ClassValue<Map<String, Resolved[]>> METHODS = new ClassValue<Map<String, Resolved[]>>() {
+        @Override
+        protected Map<String, Resolved[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * Execute an instance method by name.
      */
     public static Object execute(Object target, String methodName, Class<?>[] paramTypes, Object[] args) {
         if (target == null) throw new IllegalArgumentException("target is null");
         try {
-            Method m = findMethod(target.getClass(), methodName, paramTypes);
-            if (!m.isAccessible()) m.setAccessible(true);
+            Method m = cachedMethod(target.getClass(), methodName, paramTypes);
             return m.invoke(target, args);
         } catch (RuntimeException re) {
             throw re;
@@ -37,8 +49,7 @@ public class MethodInvoker {
     public static Object executeStatic(Class<?> clazz, String methodName, Class<?>[] paramTypes, Object[] args) {
         if (clazz == null) throw new IllegalArgumentException("clazz is null");
         try {
-            Method m = findMethod(clazz, methodName, paramTypes);
-            if (!m.isAccessible()) m.setAccessible(true);
+            Method m = cachedMethod(clazz, methodName, paramTypes);
             return m.invoke(null, args);
         } catch (RuntimeException re) {
             throw re;
@@ -48,6 +59,28 @@ public class MethodInvoker {
         }
     }
 
+    /**
+     * Resolve (once, then cached) an accessible method by name and signature, walking up the hierarchy.
+     */
+    public static Method resolve(Class<?> clazz, String methodName, Class<?>[] paramTypes) throws NoSuchMethodException {
+        if (clazz == null) throw new IllegalArgumentException("clazz is null");
+        return cachedMethod(clazz, methodName, paramTypes);
+    }
+
+    /**
+     * Invoke an already resolved method, with the same error wrapping as execute.
+     */
+    public static Object invoke(Object target, Method m, Object[] args) {
+        try {
+            return m.invoke(target, args);
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to invoke method '" + m.getName() + "' on "
+                    + m.getDeclaringClass().getName() + ": " + t.getMessage(), t);
+        }
+    }
+
     /**
      * Invoke all no-arg methods on the target.
      * - includePrivate: when true, also includes private/protected methods
@@ -77,6 +110,41 @@ public class MethodInvoker {
         return results;
     }
 
+    /**
+     * Resolve a method once per class and signature, then reuse it
+     * (no allocation on a cache hit: lookup by name, then parameter types compared in place).
+     */
+    private static Method cachedMethod(Class<?> clazz, String name, Class<?>[] paramTypes) throws NoSuchMethodException {
+        Class<?>[] types = paramTypes == null ? new Class<?>[0] : paramTypes;
+        Map<String, Resolved[]> byName = METHODS.get(clazz);
+        Resolved[] known = byName.get(name);
+        if (known != null) {
+            for (Resolved r : known) {
+                if (Arrays.equals(r.paramTypes, types)) return r.method;
+            }
+        }
+
+        Method m = findMethod(clazz, name, paramTypes);
+        if (!m.isAccessible()) m.setAccessible(true);
+        Resolved entry = new Resolved(types.clone(), m);
+        byName.merge(name, new Resolved[]{entry}, (old, add) -> {
+            Resolved[] merged = Arrays.copyOf(old, old.length + 1);
+            merged[old.length] = add[0];
+            return merged;
+        });
+        return m;
+    }
+
+    private static final class Resolved {
+        final Class<?>[] paramTypes;
+        final Method method;
+
+        Resolved(Class<?>[] paramTypes, Method method) {
+            this.paramTypes = paramTypes;
+            this.method = method;
+        }
+    }
+
     private static Method findMethod(Class<?> clazz, String name, Class<?>[] paramTypes) throws NoSuchMethodException {
         // Try exact declared match first
         try {
@@ -0,0 +1,147 @@
+package framework.utilitaire;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conversion des paramètres multi-valués (tableaux, List, Set) à partir de toutes les valeurs
+ * d'un paramètre (?id=1&id=2) et/ou de valeurs délimitées par des virgules (?id=1,2,3).
+ * Le découpage par virgules ne s'applique qu'aux éléments non String (nombres, dates, énumérations...):
+ * une valeur texte libre ("Dupont, Jean") est gardée entière.
+ * Les tableaux primitifs sont remplis directement par les analyseurs de ScalarParsers, sans boxing;
+ * les éléments vides sont ignorés et les espaces autour des virgules retirés.
+ */
+public final class MultiValueParsers {
+
+    /** Conversion de toutes les valeurs d'un paramètre; values peut être null (paramètre absent) */
+    public interface Parser {
+        Object parse(String[] values);
+    }
+
+    // Affectation d'un élément [start, end) de texte dans un tableau, spécialisée par type de composant
+    private interface ElementSetter {
+        void set(Object array, int index, CharSequence text, int start, int end);
+    }
+
+    private interface SegmentVisitor {
+        void visit(String value, int start, int end);
+    }
+
+    private static final char DELIMITER = ',';
+
+    private MultiValueParsers() {
+    }
+
+    /** true si le type est un tableau ou une collection (hors byte[] et char[], traités comme scalaires absents) */
+    public static boolean isMultiValued(Class<?> type) {
+        return (type.isArray() && type != byte[].class && type != char[].class)
+                || type == List.class || type == Set.class || type == Collection.class || type == Iterable.class;
+    }
+
+    /**
+     * Analyseur du type, à résoudre une fois par paramètre ou par champ.
+     * @param genericType type générique déclaré (élément des collections; String si non paramétré)
+     * @return l'analyseur, ou null si le type n'est pas multi-valué ou si ses éléments ne sont pas scalaires
+     */
+    public static Parser parserFor(Class<?> type, Type genericType) {
+        if (!isMultiValued(type)) return null;
+        if (type.isArray()) return arrayParser(type.getComponentType());
+
+        Class<?> elementType = elementType(genericType);
+        ScalarParsers.Parser element = ScalarParsers.parserFor(elementType);
+        if (element == null) return null;
+        boolean set = type == Set.class;
+        boolean split = elementType != String.class;
+        return values -> {
+            if (values == null) return null;
+            Collection<Object> result = set ? new LinkedHashSet<>() : new ArrayList<>();
+            SegmentVisitor add = (v, s, e) -> result.add(element.parse(v, s, e));
+            if (split) forEachSegment(values, add);
+            else forEachValue(values, add);
+            return result;
+        };
+    }
+
+    private static Class<?> elementType(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (args.length == 1 && args[0] instanceof Class) return (Class<?>) args[0];
+        }
+        return String.class;
+    }
+
+    private static Parser arrayParser(Class<?> component) {
+        if (component == String.class) {
+            // Texte: valeurs entières, non découpées
+            return values -> {
+                if (values == null) return null;
+                List<String> kept = new ArrayList<>(values.length);
+                forEachValue(values, (v, s, e) -> kept.add(v));
+                return kept.toArray(new String[0]);
+            };
+        }
+        ElementSetter setter = setterFor(component);
+        if (setter == null) return null;
+        return values -> {
+            if (values == null) return null;
+            int[] count = new int[1];
+            forEachSegment(values, (v, s, e) -> count[0]++);
+            Object array = Array.newInstance(component, count[0]);
+            int[] next = new int[1];
+            forEachSegment(values, (v, s, e) -> setter.set(array, next[0]++, v, s, e));
+            return array;
+        };
+    }
+
+    private static ElementSetter setterFor(Class<?> component) {
+        if (component == int.class)
+            return (a, i, t, s, e) -> ((int[]) a)[i] = ScalarParsers.parseInt(t, s, e);
+        if (component == long.class)
+            return (a, i, t, s, e) -> ((long[]) a)[i] = ScalarParsers.parseLong(t, s, e);
+        if (component == double.class)
+            return (a, i, t, s, e) -> ((double[]) a)[i] = ScalarParsers.parseDouble(t, s, e);
+        if (component == float.class)
+            return (a, i, t, s, e) -> ((float[]) a)[i] = ScalarParsers.parseFloat(t, s, e);
+        if (component == short.class)
+            return (a, i, t, s, e) -> ((short[]) a)[i] = ScalarParsers.parseShort(t, s, e);
+        if (component == boolean.class)
+            return (a, i, t, s, e) -> ((boolean[]) a)[i] = ScalarParsers.parseBoolean(t, s, e);
+        if (component.isPrimitive())
+            return null;
+        ScalarParsers.Parser element = ScalarParsers.parserFor(component);
+        if (element == null) return null;
+        return (a, i, t, s, e) -> ((Object[]) a)[i] = element.parse(t, s, e);
+    }
+
+    // Valeurs non vides telles quelles (éléments String)
+    private static void forEachValue(String[] values, SegmentVisitor visitor) {
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) visitor.visit(value, 0, value.length());
+        }
+    }
+
+    // Parcourt les éléments non vides de toutes les valeurs, sans découper de sous-chaînes
+    private static void forEachSegment(String[] values, SegmentVisitor visitor) {
+        for (String value : values) {
+            if (value == null) continue;
+            int len = value.length();
+            int from = 0;
+            while (from <= len) {
+                int comma = value.indexOf(DELIMITER, from);
+                int to = comma < 0 ? len : comma;
+                int s = from;
+                int e = to;
+                while (s < e && value.charAt(s) == ' ') s++;
+                while (e > s && value.charAt(e - 1) == ' ') e--;
+                if (s < e) visitor.visit(value, s, e);
+                from = to + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package framework.utilitaire;
+
+import framework.annotation.ModelAttribute;
+import framework.annotation.PathVariable;
+import framework.annotation.RequestBody;
+import framework.annotation.RequestParam;
+
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+/**
+ * Métadonnées immuables d'un paramètre de méthode contrôleur,
+ * résolues une seule fois à la construction du registre.
+ */
+public final class ParameterInfo {
+
+    public enum Kind {
+        /** Objet complet lié depuis les paramètres du formulaire (@ModelAttribute) */
+        MODEL_ATTRIBUTE,
+        /** Variable de template d'URL (@PathVariable) */
+        PATH_VARIABLE,
+        /** Paramètre de requête (@RequestParam) */
+        REQUEST_PARAM,
+        /** Corps JSON de la requête (@RequestBody) */
+        REQUEST_BODY,
+        /** Aucune annotation: injection par type (requête, réponse, session) ou null */
+        NONE
+    }
+
+    private final int index;
+    private final Class<?> type;
+    private final Type genericType;
+    private final String name;
+    private final Kind kind;
+    private final int pathVariableIndex;
+    private final boolean required;
+    private final String defaultValue;
+
+    /**
+     * @param variableNames noms des variables du template, dans l'ordre (pour résoudre @PathVariable en index)
+     */
+    public ParameterInfo(int index, Parameter parameter, String[] variableNames) {
+        this.index = index;
+        this.type = parameter.getType();
+        this.genericType = parameter.getParameterizedType();
+
+        ModelAttribute ma = parameter.getAnnotation(ModelAttribute.class);
+        PathVariable pv = parameter.getAnnotation(PathVariable.class);
+        RequestParam rp = parameter.getAnnotation(RequestParam.class);
+        RequestBody rb = parameter.getAnnotation(RequestBody.class);
+
+        if (ma != null) {
+            this.kind = Kind.MODEL_ATTRIBUTE;
+            this.name = parameter.getName();
+            this.pathVariableIndex = -1;
+            this.required = false;
+            this.defaultValue = null;
+        } else if (pv != null) {
+            this.kind = Kind.PATH_VARIABLE;
+            this.name = pv.value();
+            this.pathVariableIndex = indexOf(variableNames, pv.value());
+            this.required = true;
+            this.defaultValue = null;
+        } else if (rp != null) {
+            this.kind = Kind.REQUEST_PARAM;
+            String paramName = rp.value();
+            if (paramName == null || paramName.isEmpty()) {
+                // Si absent, repli sur le nom Java du paramètre (nécessite -parameters)
+                paramName = parameter.getName();
+            }
+            this.name = paramName;
+            this.pathVariableIndex = -1;
+            this.required = rp.required();
+            this.defaultValue = rp.defaultValue();
+        } else if (rb != null) {
+            this.kind = Kind.REQUEST_BODY;
+            this.name = parameter.getName();
+            this.pathVariableIndex = -1;
+            this.required = rb.required();
+            this.defaultValue = null;
+        } else {
+            this.kind = Kind.NONE;
+            this.name = parameter.getName();
+            this.pathVariableIndex = -1;
+            this.required = false;
+            this.defaultValue = null;
+        }
+    }
+
+    private static int indexOf(String[] names, String name) {
+        if (names == null) return -1;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Type getGenericType() {
+        return genericType;
+    }
+
+    /** Nom du paramètre de requête, de la variable de chemin, ou nom Java selon le cas */
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** Index de la variable dans le template, -1 si absente du template */
+    public int getPathVariableIndex() {
+        return pathVariableIndex;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,91 @@
+package framework.utilitaire;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regroupe les exécutions simultanées d'une même clé (« single flight »):
+ * la première exécute la tâche, les suivantes attendent son résultat (ou son exception)
+ * au plus timeoutMillis, puis exécutent la tâche elles-mêmes.
+ * La clé est retirée dès la fin de l'exécution: rien n'est conservé au-delà (voir ResponseCache).
+ */
+public final class RequestCoalescer<T> {
+
+    /** Tâche regroupée (typiquement: appel du contrôleur et sérialisation de sa réponse) */
+    public interface Task<T> {
+        T run() throws Exception;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Exécute la tâche, ou attend le résultat de l'exécution déjà en cours pour cette clé.
+     * @throws Exception l'exception de la tâche, pour l'appelant qui l'a exécutée comme pour ceux qui attendaient
+     */
+    public T execute(String key, long timeoutMillis, Task<T> task) throws Exception {
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return lead(key, flight, task);
+        }
+
+        try {
+            T result = leader.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return result;
+        } catch (TimeoutException e) {
+            // Exécution en cours trop lente: ne pas bloquer davantage, exécuter soi-même (hors regroupement)
+            timeouts.increment();
+            executions.increment();
+            return task.run();
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private T lead(String key, CompletableFuture<T> flight, Task<T> task) throws Exception {
+        executions.increment();
+        try {
+            T result = task.run();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable t) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /** Nombre d'exécutions réelles de tâches */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /** Nombre d'appels servis par le résultat d'une autre exécution */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /** Nombre d'appels qui ont cessé d'attendre et exécuté la tâche eux-mêmes */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /** Nombre de clés en cours d'exécution */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
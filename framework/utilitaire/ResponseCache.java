@@ -0,0 +1,239 @@
+package framework.utilitaire;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache des réponses des méthodes @Cacheable: octets déjà sérialisés (JSON, HTML, vue rendue)
+ * indexés par route + valeurs de clé.
+ * Borné en octets (corps + clé + surcoût estimé par entrée), expiration par TTL vérifiée à la lecture.
+ * Une lecture ne prend aucun verrou (ConcurrentHashMap, date du dernier accès écrite dans l'entrée);
+ * l'éviction, LRU approchée sur ces dates, ne se fait qu'à l'écriture au-delà de la capacité et libère
+ * d'un coup la place de la plus grosse entrée admise. Invalidation explicite par route ou par clé,
+ * compteurs hits/misses/évictions.
+ */
+public final class ResponseCache {
+
+    /** Capacité par défaut (response.cache.max.bytes) */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char NULL_VALUE = '\u0001';
+    // Estimation du coût mémoire d'une entrée hors corps et clé (objets, nœud de la table)
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private static final ResponseCache INSTANCE = new ResponseCache(DEFAULT_MAX_BYTES);
+
+    public static ResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>(64);
+    private final AtomicLong weight = new AtomicLong();
+    private volatile long maxBytes;
+    // Une seule éviction à la fois; les lectures n'y participent jamais
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Change la capacité; les entrées en trop sont évincées immédiatement */
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictIfNeeded();
+    }
+
+    /**
+     * Clé d'une réponse: template de la route suivi des valeurs de clé (null autorisé)
+     */
+    public static String key(String route, String... values) {
+        StringBuilder sb = new StringBuilder(route.length() + 16 * values.length);
+        sb.append(route);
+        for (String value : values) {
+            sb.append(SEPARATOR);
+            if (value == null) sb.append(NULL_VALUE);
+            else sb.append(value);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return l'entrée valide pour cette clé, ou null (absente ou expirée)
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                entry.lastAccess = System.nanoTime();
+                hits.increment();
+                return entry;
+            }
+            remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Conserve une réponse. Ignorée si elle dépasse le huitième de la capacité
+     * (une seule grosse réponse viderait tout le cache).
+     */
+    public void put(String route, String key, String contentType, byte[] body, long ttlMillis) {
+        put(route, key, contentType, null, body, ttlMillis);
+    }
+
+    /**
+     * @param etag ETag de la réponse (rejoué avec le corps et utilisé pour les 304), null si aucun
+     */
+    public void put(String route, String key, String contentType, String etag, byte[] body, long ttlMillis) {
+        long entryWeight = weightOf(key, body);
+        if (ttlMillis <= 0 || entryWeight > maxBytes / 8) return;
+        Entry entry = new Entry(route, contentType, etag, body, System.currentTimeMillis() + ttlMillis, entryWeight);
+        Entry previous = entries.put(key, entry);
+        weight.addAndGet(previous == null ? entryWeight : entryWeight - previous.weight);
+        evictIfNeeded();
+    }
+
+    /** Supprime toutes les réponses d'une route (template tel que déclaré, ex: "/produits/{id}") */
+    public int invalidate(String route) {
+        int removed = 0;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().route.equals(route) && remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** Supprime la réponse d'une route pour ces valeurs de clé (dans l'ordre de @Cacheable.key) */
+    public boolean invalidate(String route, String... keyValues) {
+        String key = key(route, keyValues);
+        Entry entry = entries.get(key);
+        return entry != null && remove(key, entry);
+    }
+
+    public void invalidateAll() {
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            remove(e.getKey(), e.getValue());
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Taille estimée du contenu, en octets */
+    public long getWeightedSize() {
+        return weight.get();
+    }
+
+    // Retire l'entrée si elle est toujours associée à la clé (pas remplacée entre-temps)
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Au-delà de la capacité: retire les entrées les moins récemment lues jusqu'à ce qu'il reste
+     * la place d'une entrée de taille maximale (maxBytes / 8), pour ne pas trier à chaque écriture.
+     */
+    private void evictIfNeeded() {
+        if (weight.get() <= maxBytes) return;
+        synchronized (evictionLock) {
+            long max = maxBytes;
+            if (weight.get() <= max) return;
+            long target = max - max / 8;
+            // Instantané de lastAccess: les lectures concurrentes le modifient pendant le tri
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                candidates.add(new Candidate(e.getKey(), e.getValue()));
+            }
+            candidates.sort((a, b) -> Long.compare(a.lastAccess, b.lastAccess));
+            for (Candidate c : candidates) {
+                if (weight.get() <= target) break;
+                if (remove(c.key, c.entry)) evictions.increment();
+            }
+        }
+    }
+
+    // Entrée candidate à l'éviction, avec sa date de lecture figée
+    private static final class Candidate {
+        final String key;
+        final Entry entry;
+        final long lastAccess;
+
+        Candidate(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+
+    private static long weightOf(String key, byte[] body) {
+        return ENTRY_OVERHEAD + 2L * key.length() + body.length;
+    }
+
+    /**
+     * Réponse conservée (le corps n'est jamais modifié après insertion)
+     */
+    public static final class Entry {
+        private final String route;
+        private final String contentType;
+        private final String etag;
+        private final byte[] body;
+        private final long expiresAt;
+        private final long weight;
+        // Dernière lecture (System.nanoTime), base de l'éviction; écriture simple, sans verrou
+        private volatile long lastAccess;
+
+        Entry(String route, String contentType, String etag, byte[] body, long expiresAt, long weight) {
+            this.route = route;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+            this.lastAccess = System.nanoTime();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package framework.utilitaire;
+
+import java.lang.reflect.Method;
+
+/**
+ * Route déclarée par une méthode contrôleur, avant insertion dans le registre.
+ * Produite soit par réflexion (UrlMappingRegistry.collectRoutes), soit depuis
+ * l'index de routes persistant (RouteIndex) lors d'un redémarrage à chaud,
+ * soit par une table générée à la compilation (RouteTable).
+ */
+public final class RouteDefinition {
+
+    private final Class<?> controllerClass;
+    private final Method method;
+    private final String url;
+    private final String httpMethod;
+    private final String authRole;
+    private final boolean responseBody;
+    private final String[] variableNames;
+    private final RouteInvoker invoker;
+
+    /**
+     * @param httpMethod "GET", "POST"... ou "*" pour toutes
+     * @param authRole null si la route est publique, "" si une authentification suffit, sinon le rôle requis
+     * @param responseBody true si le résultat est sérialisé en JSON
+     */
+    public RouteDefinition(Class<?> controllerClass, Method method, String url, String httpMethod,
+                           String authRole, boolean responseBody) {
+        this(controllerClass, method, url, httpMethod, authRole, responseBody, null, null);
+    }
+
+    /**
+     * @param variableNames noms des variables du template déjà analysés, null pour les calculer à l'enregistrement
+     * @param invoker appel direct de la méthode, null pour passer par la réflexion
+     */
+    public RouteDefinition(Class<?> controllerClass, Method method, String url, String httpMethod,
+                           String authRole, boolean responseBody, String[] variableNames, RouteInvoker invoker) {
+        this.controllerClass = controllerClass;
+        this.method = method;
+        this.url = url;
+        this.httpMethod = httpMethod == null ? "*" : httpMethod;
+        this.authRole = authRole;
+        this.responseBody = responseBody;
+        this.variableNames = variableNames;
+        this.invoker = invoker;
+    }
+
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getAuthRole() {
+        return authRole;
+    }
+
+    public boolean isResponseBody() {
+        return responseBody;
+    }
+
+    /** Noms des variables pré-analysés, ou null */
+    public String[] getVariableNames() {
+        return variableNames;
+    }
+
+    /** Invoker direct, ou null */
+    public RouteInvoker getInvoker() {
+        return invoker;
+    }
+}
@@ -0,0 +1,166 @@
+package framework.utilitaire;
+
+import framework.annotation.Cacheable;
+import framework.annotation.SingleFlight;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Description immuable d'une route, construite une seule fois par le registre.
+ * Contient tout ce dont le dispatch a besoin (méthode, @Auth résolu, mode JSON,
+ * paramètres) afin qu'aucune réflexion ne soit faite par requête.
+ */
+public final class RouteDescriptor {
+
+    private final int id;
+    private final Class<?> controllerClass;
+    private final Method method;
+    private final String template;
+    private final String httpMethod;
+    private final String[] variableNames;
+    private final String authRole;
+    private final boolean responseBody;
+    private final ParameterInfo[] parameters;
+    private final RouteMatch staticMatch;
+    private final RouteInvoker invoker;
+    private final int[] primitiveParameters;
+    private final ControllerProvider controllerProvider;
+    private final CachePolicy cachePolicy;
+    private final SingleFlightPolicy singleFlightPolicy;
+
+    /**
+     * @param id identifiant dense (0..n-1) attribué par le registre
+     * @param variableNames noms des variables du template, vide pour une URL exacte
+     */
+    public RouteDescriptor(int id, RouteDefinition definition, String[] variableNames) {
+        this.id = id;
+        this.controllerClass = definition.getControllerClass();
+        this.method = definition.getMethod();
+        this.template = definition.getUrl();
+        this.httpMethod = definition.getHttpMethod();
+        this.variableNames = variableNames == null ? new String[0] : variableNames.clone();
+        this.authRole = definition.getAuthRole();
+        this.responseBody = definition.isResponseBody();
+        // Instances du contrôleur selon son scope (singleton créé dès maintenant, au démarrage)
+        this.controllerProvider = providerOf(controllerClass);
+
+        // Invoker généré à la compilation, sinon MethodHandle pré-lié (null: repli sur Method.invoke)
+        this.invoker = definition.getInvoker() != null ? definition.getInvoker() : RouteInvokers.of(method);
+        this.primitiveParameters = RouteInvokers.primitiveParameters(method);
+
+        // Cache de réponse (@Cacheable) et regroupement (@SingleFlight): routes GET publiques seulement
+        // (la réponse est partagée entre utilisateurs)
+        boolean shareable = "GET".equals(httpMethod) && authRole == null;
+        this.cachePolicy = shareable ? CachePolicy.of(method.getAnnotation(Cacheable.class), this.variableNames) : null;
+        this.singleFlightPolicy = shareable
+                ? SingleFlightPolicy.of(method.getAnnotation(SingleFlight.class), this.variableNames) : null;
+
+        Parameter[] params = method.getParameters();
+        this.parameters = new ParameterInfo[params.length];
+        for (int i = 0; i < params.length; i++) {
+            this.parameters[i] = new ParameterInfo(i, params[i], this.variableNames);
+        }
+
+        // Les routes sans variable partagent un unique résultat de recherche
+        this.staticMatch = this.variableNames.length == 0 ? new RouteMatch(this, null) : null;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public int getVariableCount() {
+        return variableNames.length;
+    }
+
+    public String getVariableName(int index) {
+        return variableNames[index];
+    }
+
+    /** true si la route porte @Auth (méthode ou classe) */
+    public boolean isAuthRequired() {
+        return authRole != null;
+    }
+
+    /** Rôle exigé par @Auth, vide si une simple authentification suffit, null si la route est publique */
+    public String getRequiredRole() {
+        return authRole;
+    }
+
+    /** true si le résultat doit être sérialisé en JSON (@RestController ou @ResponseBody) */
+    public boolean isResponseBody() {
+        return responseBody;
+    }
+
+    /** Politique @Cacheable de la route, null si sa réponse n'est pas mise en cache */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /** Politique @SingleFlight de la route, null si les requêtes identiques ne sont pas regroupées */
+    public SingleFlightPolicy getSingleFlightPolicy() {
+        return singleFlightPolicy;
+    }
+
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    public ParameterInfo getParameter(int index) {
+        return parameters[index];
+    }
+
+    private static ControllerProvider providerOf(Class<?> controllerClass) {
+        try {
+            return ControllerProvider.of(controllerClass);
+        } catch (NoSuchMethodException e) {
+            // Pas de constructeur sans argument: l'erreur sera signalée à l'appel, comme auparavant
+            return null;
+        }
+    }
+
+    /** Fournisseur des instances du contrôleur, null s'il n'a pas de constructeur sans argument */
+    public ControllerProvider getControllerProvider() {
+        return controllerProvider;
+    }
+
+    /**
+     * Appelle la méthode de la route via son invoker pré-lié (lambda générée ou MethodHandle);
+     * les exceptions de la méthode sont enveloppées comme par Method.invoke, et les arguments
+     * invalides refusés de la même façon (IllegalArgumentException non enveloppée).
+     */
+    public Object invoke(Object instance, Object[] args) throws Exception {
+        if (invoker == null) {
+            return method.invoke(instance, args);
+        }
+        RouteInvokers.checkArguments(parameters.length, primitiveParameters, args);
+        try {
+            return invoker.invoke(instance, args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /** Résultat pré-alloué pour une route sans variable, null pour un template */
+    RouteMatch getStaticMatch() {
+        return staticMatch;
+    }
+}
@@ -0,0 +1,311 @@
+package framework.utilitaire;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index binaire des routes, écrit à côté de WEB-INF/classes pour éviter
+ * le scan complet lors d'un redémarrage à chaud.
+ * Contient l'empreinte (taille + date) de chaque fichier .class scanné et,
+ * pour chaque contrôleur, ses routes (méthode, signature, URL, méthode HTTP, @Auth).
+ * Seuls les fichiers dont l'empreinte a changé sont ré-analysés.
+ */
+public final class RouteIndex {
+
+    public static final String FILE_NAME = "framework-routes.idx";
+
+    private static final int MAGIC = 0x46575249; // "FWRI"
+    private static final int VERSION = 1;
+
+    private final String basePackage;
+    private final long fingerprint;
+    private final Map<String, ClassScanner.ClassFile> files;
+    private final Map<String, List<RouteRecord>> routes;
+
+    private RouteIndex(String basePackage, long fingerprint, Map<String, ClassScanner.ClassFile> files,
+                       Map<String, List<RouteRecord>> routes) {
+        this.basePackage = basePackage;
+        this.fingerprint = fingerprint;
+        this.files = files;
+        this.routes = routes;
+    }
+
+    /**
+     * Construit l'index à partir du scan courant et des routes retenues
+     * @param routesByClass routes par nom de contrôleur
+     */
+    public static RouteIndex of(String basePackage, List<ClassScanner.ClassFile> scanned,
+                                Map<String, List<RouteDefinition>> routesByClass) {
+        Map<String, ClassScanner.ClassFile> files = new HashMap<>();
+        for (ClassScanner.ClassFile f : scanned) {
+            files.put(f.getName(), f);
+        }
+        Map<String, List<RouteRecord>> routes = new LinkedHashMap<>();
+        for (Map.Entry<String, List<RouteDefinition>> e : routesByClass.entrySet()) {
+            List<RouteRecord> records = new ArrayList<>();
+            for (RouteDefinition def : e.getValue()) {
+                records.add(new RouteRecord(def));
+            }
+            routes.put(e.getKey(), records);
+        }
+        return new RouteIndex(basePackage, fingerprint(scanned), files, routes);
+    }
+
+    /**
+     * Empreinte globale des fichiers scannés (noms, tailles, dates), indépendante de l'ordre
+     */
+    public static long fingerprint(List<ClassScanner.ClassFile> scanned) {
+        long h = scanned.size();
+        for (ClassScanner.ClassFile f : scanned) {
+            long x = f.getName().hashCode() * 0x9E3779B97F4A7C15L;
+            x ^= f.getSize() * 0xC2B2AE3D27D4EB4FL;
+            x ^= f.getLastModified() * 0x165667B19E3779F9L;
+            h += x ^ (x >>> 29);
+        }
+        return h;
+    }
+
+    /**
+     * Emplacement de l'index: dossier parent de la racine contenant le package
+     * (WEB-INF/ pour WEB-INF/classes). Null si le package n'est pas dans un répertoire.
+     */
+    public static Path locate(ClassLoader cl, String basePackage) {
+        try {
+            String path = basePackage.replace('.', '/');
+            URL resource = cl.getResource(path);
+            if (resource == null || !"file".equals(resource.getProtocol())) {
+                return null;
+            }
+            Path root = Paths.get(resource.toURI());
+            for (int i = basePackage.split("\\.").length; i > 0 && root != null; i--) {
+                root = root.getParent();
+            }
+            Path parent = root == null ? null : root.getParent();
+            return parent == null ? null : parent.resolve(FILE_NAME);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lit un index existant.
+     * @return l'index, ou null s'il est absent, illisible, d'une autre version ou d'un autre package
+     */
+    public static RouteIndex read(Path file, String basePackage) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            String pkg = in.readUTF();
+            if (!pkg.equals(basePackage)) return null;
+            long fingerprint = in.readLong();
+
+            int fileCount = in.readInt();
+            Map<String, ClassScanner.ClassFile> files = new HashMap<>(fileCount * 2);
+            for (int i = 0; i < fileCount; i++) {
+                String name = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                String controller = in.readBoolean() ? in.readUTF() : null;
+                files.put(name, new ClassScanner.ClassFile(name, size, lastModified, controller, false));
+            }
+
+            int classCount = in.readInt();
+            Map<String, List<RouteRecord>> routes = new LinkedHashMap<>();
+            for (int i = 0; i < classCount; i++) {
+                String className = in.readUTF();
+                int n = in.readInt();
+                List<RouteRecord> records = new ArrayList<>(n);
+                for (int r = 0; r < n; r++) {
+                    records.add(RouteRecord.read(in));
+                }
+                routes.put(className, records);
+            }
+            return new RouteIndex(pkg, fingerprint, files, routes);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Index de routes ignoré (" + file + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Écrit l'index (fichier temporaire puis remplacement atomique)
+     */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream raw = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(basePackage);
+            out.writeLong(fingerprint);
+
+            out.writeInt(files.size());
+            for (ClassScanner.ClassFile f : files.values()) {
+                out.writeUTF(f.getName());
+                out.writeLong(f.getSize());
+                out.writeLong(f.getLastModified());
+                out.writeBoolean(f.getControllerName() != null);
+                if (f.getControllerName() != null) out.writeUTF(f.getControllerName());
+            }
+
+            out.writeInt(routes.size());
+            for (Map.Entry<String, List<RouteRecord>> e : routes.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeInt(e.getValue().size());
+                for (RouteRecord r : e.getValue()) {
+                    r.write(out);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /** Empreinte connue d'un fichier .class, null s'il n'était pas dans l'index */
+    public ClassScanner.ClassFile getFile(String name) {
+        return files.get(name);
+    }
+
+    public boolean hasRoutes(String className) {
+        return routes.containsKey(className);
+    }
+
+    /**
+     * Résout les routes indexées d'un contrôleur: seules les méthodes référencées sont
+     * recherchées (getDeclaredMethod), sans parcourir les annotations de la classe.
+     * @return les routes, ou null si la classe ou une méthode n'existe plus (ré-analyse nécessaire)
+     */
+    public List<RouteDefinition> resolve(String className, ClassLoader cl) {
+        List<RouteRecord> records = routes.get(className);
+        if (records == null) return null;
+        try {
+            Class<?> clazz = Class.forName(className, false, cl);
+            List<RouteDefinition> defs = new ArrayList<>(records.size());
+            for (RouteRecord r : records) {
+                Class<?>[] types = new Class<?>[r.parameterTypes.length];
+                for (int i = 0; i < types.length; i++) {
+                    types[i] = typeFor(r.parameterTypes[i], cl);
+                }
+                Method method = clazz.getDeclaredMethod(r.methodName, types);
+                defs.add(new RouteDefinition(clazz, method, r.url, r.httpMethod, r.authRole, r.responseBody));
+            }
+            return defs;
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public Map<String, List<RouteRecord>> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    private static Class<?> typeFor(String name, ClassLoader cl) throws ClassNotFoundException {
+        switch (name) {
+            case "int": return int.class;
+            case "long": return long.class;
+            case "double": return double.class;
+            case "float": return float.class;
+            case "boolean": return boolean.class;
+            case "short": return short.class;
+            case "byte": return byte.class;
+            case "char": return char.class;
+            default: return Class.forName(name, false, cl);
+        }
+    }
+
+    /**
+     * Route indexée: signature de la méthode et métadonnées de mapping
+     */
+    public static final class RouteRecord {
+        private final String methodName;
+        private final String[] parameterTypes;
+        private final String url;
+        private final String httpMethod;
+        private final String authRole;
+        private final boolean responseBody;
+
+        RouteRecord(RouteDefinition def) {
+            this.methodName = def.getMethod().getName();
+            Class<?>[] types = def.getMethod().getParameterTypes();
+            this.parameterTypes = new String[types.length];
+            for (int i = 0; i < types.length; i++) {
+                this.parameterTypes[i] = types[i].getName();
+            }
+            this.url = def.getUrl();
+            this.httpMethod = def.getHttpMethod();
+            this.authRole = def.getAuthRole();
+            this.responseBody = def.isResponseBody();
+        }
+
+        private RouteRecord(String methodName, String[] parameterTypes, String url, String httpMethod,
+                            String authRole, boolean responseBody) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+            this.url = url;
+            this.httpMethod = httpMethod;
+            this.authRole = authRole;
+            this.responseBody = responseBody;
+        }
+
+        static RouteRecord read(DataInputStream in) throws IOException {
+            String methodName = in.readUTF();
+            String[] types = new String[in.readInt()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = in.readUTF();
+            }
+            String url = in.readUTF();
+            String httpMethod = in.readUTF();
+            String authRole = in.readBoolean() ? in.readUTF() : null;
+            boolean responseBody = in.readBoolean();
+            return new RouteRecord(methodName, types, url, httpMethod, authRole, responseBody);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(methodName);
+            out.writeInt(parameterTypes.length);
+            for (String t : parameterTypes) {
+                out.writeUTF(t);
+            }
+            out.writeUTF(url);
+            out.writeUTF(httpMethod);
+            out.writeBoolean(authRole != null);
+            if (authRole != null) out.writeUTF(authRole);
+            out.writeBoolean(responseBody);
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getHttpMethod() {
+            return httpMethod;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package framework.utilitaire;
+
+/**
+ * Appel direct d'une méthode contrôleur, sans Method.invoke.
+ * Les implémentations sont générées à la compilation (RouteProcessor) ou à l'exécution.
+ */
+@FunctionalInterface
+public interface RouteInvoker {
+
+    /**
+     * @param controller instance du contrôleur (ignorée pour une méthode statique)
+     * @param args arguments déjà convertis, dans l'ordre des paramètres
+     * @return la valeur retournée par la méthode, null pour void
+     */
+    Object invoke(Object controller, Object[] args) throws Exception;
+}
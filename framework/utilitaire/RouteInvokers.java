@@ -0,0 +1,167 @@
+package framework.utilitaire;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Fabrique d'invokers pré-liés pour les méthodes contrôleur, construits une fois au démarrage.
+ * - méthodes d'instance non void à 0..4 paramètres: classe fonctionnelle générée par
+ *   LambdaMetafactory (appel direct, inlinable par le JIT; casts et unboxing compilés)
+ * - autres méthodes: MethodHandle adapté une seule fois à la signature fixe (Object, Object[])Object
+ * Dans les deux cas il n'y a plus de contrôle d'accès ni de boxing varargs à chaque appel.
+ */
+public final class RouteInvokers {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** Interfaces fonctionnelles cibles de LambdaMetafactory, indexées par nombre de paramètres */
+    private static final Class<?>[] FUNCTIONS = {
+            Function0.class, Function1.class, Function2.class, Function3.class, Function4.class
+    };
+
+    // Doivent être publiques: la classe générée est définie dans le package du contrôleur
+    public interface Function0 { Object apply(Object c) throws Exception; }
+    public interface Function1 { Object apply(Object c, Object a0) throws Exception; }
+    public interface Function2 { Object apply(Object c, Object a0, Object a1) throws Exception; }
+    public interface Function3 { Object apply(Object c, Object a0, Object a1, Object a2) throws Exception; }
+    public interface Function4 { Object apply(Object c, Object a0, Object a1, Object a2, Object a3) throws Exception; }
+
+    private RouteInvokers() {
+    }
+
+    /**
+     * Construit l'invoker d'une méthode.
+     * @return l'invoker, ou null si la méthode n'est pas accessible (l'appel passera par Method.invoke)
+     */
+    public static RouteInvoker of(Method method) {
+        RouteInvoker lambda = lambda(method);
+        if (lambda != null) {
+            return lambda;
+        }
+        MethodHandle handle = handle(method);
+        return handle == null ? null : new HandleInvoker(handle);
+    }
+
+    /**
+     * Invoker généré par LambdaMetafactory, ou null si la méthode ne s'y prête pas
+     * (statique, void, plus de 4 paramètres, accès refusé)
+     */
+    static RouteInvoker lambda(Method method) {
+        int arity = method.getParameterCount();
+        if (arity >= FUNCTIONS.length || Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+            return null;
+        }
+        try {
+            Class<?> owner = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle impl = lookup.unreflect(method);
+
+            // Type "instancié": types réels, primitifs remplacés par leur wrapper
+            Class<?>[] params = new Class<?>[arity + 1];
+            params[0] = owner;
+            for (int i = 0; i < arity; i++) {
+                params[i + 1] = MethodType.methodType(method.getParameterTypes()[i]).wrap().returnType();
+            }
+            Class<?> returnType = MethodType.methodType(method.getReturnType()).wrap().returnType();
+            MethodType instantiated = MethodType.methodType(returnType, params);
+
+            Class<?> function = FUNCTIONS[arity];
+            MethodType erased = MethodType.genericMethodType(arity + 1);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(function),
+                    erased, impl, instantiated);
+            Object fn = site.getTarget().invoke();
+            switch (arity) {
+                case 0: { Function0 f = (Function0) fn; return (c, a) -> f.apply(c); }
+                case 1: { Function1 f = (Function1) fn; return (c, a) -> f.apply(c, a[0]); }
+                case 2: { Function2 f = (Function2) fn; return (c, a) -> f.apply(c, a[0], a[1]); }
+                case 3: { Function3 f = (Function3) fn; return (c, a) -> f.apply(c, a[0], a[1], a[2]); }
+                default: { Function4 f = (Function4) fn; return (c, a) -> f.apply(c, a[0], a[1], a[2], a[3]); }
+            }
+        } catch (Throwable t) {
+            // Accès refusé (module), signature non adaptable...: repli sur le MethodHandle
+            return null;
+        }
+    }
+
+    /**
+     * Index des paramètres primitifs de la méthode, calculés une fois pour checkArguments
+     */
+    public static int[] primitiveParameters(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        int count = 0;
+        for (Class<?> t : types) {
+            if (t.isPrimitive()) count++;
+        }
+        int[] indexes = new int[count];
+        for (int i = 0, j = 0; i < types.length; i++) {
+            if (types[i].isPrimitive()) indexes[j++] = i;
+        }
+        return indexes;
+    }
+
+    /**
+     * Mêmes refus que Method.invoke avant l'appel: nombre d'arguments incorrect ou null pour un primitif
+     * (sans ce contrôle, l'unboxing de la lambda lèverait une NullPointerException depuis l'appel).
+     * @throws IllegalArgumentException comme le repli réflexif
+     */
+    public static void checkArguments(int arity, int[] primitives, Object[] args) {
+        int length = args == null ? 0 : args.length;
+        if (length != arity) {
+            throw new IllegalArgumentException("wrong number of arguments: " + length + " expected: " + arity);
+        }
+        for (int index : primitives) {
+            if (args[index] == null) {
+                throw new IllegalArgumentException("argument type mismatch: null for primitive parameter " + index);
+            }
+        }
+    }
+
+    /**
+     * Handle de type (Object, Object[])Object pour la méthode, ou null si elle n'est pas accessible
+     */
+    static MethodHandle handle(Method method) {
+        try {
+            if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                method.setAccessible(true);
+            }
+            MethodHandle mh = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // L'instance est ignorée pour une méthode statique
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            mh = mh.asSpreader(Object[].class, method.getParameterCount());
+            return mh.asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // InaccessibleObjectException (module fermé), SecurityException...
+            return null;
+        }
+    }
+
+    /**
+     * Invoker reposant sur un handle déjà adapté: un seul invokeExact par appel
+     */
+    private static final class HandleInvoker implements RouteInvoker {
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object controller, Object[] args) throws Exception {
+            try {
+                return (Object) handle.invokeExact(controller, args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package framework.utilitaire;
+
+/**
+ * Composition de la clé qui identifie des requêtes « identiques » sur une route
+ * (@Cacheable, @SingleFlight), résolue une seule fois: pour chaque nom, index de la variable
+ * de chemin ou -1 pour un paramètre de requête. Sans nom: toutes les variables et la query string.
+ */
+public final class RouteKey {
+
+    private final String[] names;
+    private final int[] pathIndexes;
+
+    private RouteKey(String[] names, int[] pathIndexes) {
+        this.names = names;
+        this.pathIndexes = pathIndexes;
+    }
+
+    /**
+     * @param variableNames variables du template de la route
+     */
+    public static RouteKey of(String[] names, String[] variableNames) {
+        String[] copy = names.clone();
+        int[] indexes = new int[copy.length];
+        for (int i = 0; i < copy.length; i++) {
+            indexes[i] = -1;
+            for (int v = 0; v < variableNames.length; v++) {
+                if (variableNames[v].equals(copy[i])) {
+                    indexes[i] = v;
+                    break;
+                }
+            }
+        }
+        return new RouteKey(copy, indexes);
+    }
+
+    /** true si la clé n'est pas précisée: toutes les variables de chemin et la query string */
+    public boolean isDefault() {
+        return names.length == 0;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /** Index de la variable de chemin, ou -1 si la valeur vient d'un paramètre de requête */
+    public int getPathIndex(int index) {
+        return pathIndexes[index];
+    }
+}
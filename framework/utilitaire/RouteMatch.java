@@ -0,0 +1,72 @@
+package framework.utilitaire;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Résultat léger d'une recherche de route pour une requête:
+ * le descripteur trouvé et les valeurs des variables de chemin,
+ * ou les méthodes autorisées (405), ou rien (404).
+ */
+public final class RouteMatch {
+
+    public static final RouteMatch NOT_FOUND = new RouteMatch(null, null);
+
+    private final RouteDescriptor descriptor;
+    private final String[] pathValues;
+    private final Set<String> allowedMethods;
+    private final String allowHeader;
+
+    RouteMatch(RouteDescriptor descriptor, String[] pathValues) {
+        this.descriptor = descriptor;
+        this.pathValues = pathValues;
+        this.allowedMethods = null;
+        this.allowHeader = null;
+    }
+
+    private RouteMatch(Set<String> allowedMethods) {
+        this.descriptor = null;
+        this.pathValues = null;
+        this.allowedMethods = Collections.unmodifiableSet(allowedMethods);
+        this.allowHeader = String.join(", ", allowedMethods);
+    }
+
+    static RouteMatch methodNotAllowed(Set<String> allowedMethods) {
+        return new RouteMatch(allowedMethods);
+    }
+
+    public boolean isFound() {
+        return descriptor != null;
+    }
+
+    public boolean isMethodNotAllowed() {
+        return allowedMethods != null;
+    }
+
+    public RouteDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /** Valeur de la variable de chemin d'index donné (ordre du template) */
+    public String getPathValue(int index) {
+        return pathValues == null || index < 0 ? null : pathValues[index];
+    }
+
+    /** Valeur d'une variable de chemin par nom (recherche linéaire, hors chemin critique) */
+    public String getPathValue(String name) {
+        if (descriptor == null) return null;
+        for (int i = 0; i < descriptor.getVariableCount(); i++) {
+            if (descriptor.getVariableName(i).equals(name)) return getPathValue(i);
+        }
+        return null;
+    }
+
+    public Set<String> getAllowedMethods() {
+        return allowedMethods == null ? Collections.emptySet() : allowedMethods;
+    }
+
+    /** Valeur pré-calculée de l'en-tête Allow pour une réponse 405 */
+    public String getAllowHeader() {
+        return allowHeader;
+    }
+}
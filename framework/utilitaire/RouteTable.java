@@ -0,0 +1,19 @@
+package framework.utilitaire;
+
+import java.util.List;
+
+/**
+ * Table de routes produite à la compilation par framework.annotation.RouteProcessor
+ * et déclarée dans META-INF/services/framework.utilitaire.RouteTable.
+ * Quand une table est présente, AnnotationReader en reprend les routes des contrôleurs trouvés
+ * par le scan; les contrôleurs absents de la table sont analysés par réflexion.
+ */
+public interface RouteTable {
+
+    /**
+     * Routes déclarées par les contrôleurs compilés, avec templates pré-analysés
+     * et invokers directs.
+     * @throws ReflectiveOperationException si une classe ou méthode a changé depuis la génération
+     */
+    List<RouteDefinition> routes() throws ReflectiveOperationException;
+}
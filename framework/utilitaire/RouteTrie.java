@@ -0,0 +1,291 @@
+package framework.utilitaire;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Arbre de segments pour les URLs à variables (ex: /produits/{id}).
+ * Construit une seule fois par le registre ; une recherche ne coûte que la
+ * profondeur du chemin, pas le nombre de routes enregistrées.
+ * Ordre de priorité par segment: statique, puis partiel (ex: {id}.json), puis variable.
+ * @param <T> type du handler associé à chaque méthode HTTP
+ */
+public class RouteTrie<T> {
+
+    private final Node<T> root = new Node<>();
+    private int maxVariables;
+    private int endpointCount;
+
+    /**
+     * Enregistre un handler pour un template et une méthode HTTP ('*' = toutes).
+     * @return false si la combinaison template + méthode existe déjà (le premier enregistré est conservé)
+     */
+    public boolean insert(String template, String httpMethod, T handler) {
+        if (template == null || !template.startsWith("/")) {
+            throw new IllegalArgumentException("Invalid template: " + template);
+        }
+        Node<T> node = root;
+        List<String> varNames = new ArrayList<>();
+        int start = 1;
+        while (true) {
+            int end = template.indexOf('/', start);
+            boolean last = end < 0;
+            if (last) end = template.length();
+            node = child(node, template, template.substring(start, end), varNames);
+            if (last) break;
+            start = end + 1;
+        }
+
+        if (node.endpoint == null) {
+            node.endpoint = new Endpoint<>();
+            endpointCount++;
+        }
+        maxVariables = Math.max(maxVariables, varNames.size());
+        Endpoint<T> ep = node.endpoint;
+        ep.allowedMethods.add(httpMethod);
+        if (ep.handlers.containsKey(httpMethod)) {
+            return false;
+        }
+        // Noms des variables propres à chaque méthode: /items/{id} (GET) et /items/{code} (POST) partagent le nœud
+        ep.handlers.put(httpMethod, new Handler<>(handler, template, varNames.toArray(new String[0])));
+        return true;
+    }
+
+    /**
+     * Recherche l'URL pour une méthode HTTP donnée.
+     * @return le résultat (trouvé, 405 avec méthodes autorisées, ou vide si aucun template ne correspond)
+     */
+    public Lookup<T> find(String url, String httpMethod) {
+        Lookup<T> lookup = new Lookup<>(httpMethod, maxVariables);
+        if (url != null && url.startsWith("/") && endpointCount > 0) {
+            match(root, url, 1, 0, lookup);
+        }
+        return lookup;
+    }
+
+    public int size() {
+        return endpointCount;
+    }
+
+    /**
+     * Noms des variables d'un template, dans l'ordre d'apparition.
+     */
+    public static String[] variableNames(String template) {
+        List<String> names = new ArrayList<>();
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) throw new IllegalArgumentException("Invalid template: " + template);
+            names.add(template.substring(open + 1, close).trim());
+            open = template.indexOf('{', close + 1);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    // --- Construction ---
+
+    private Node<T> child(Node<T> node, String template, String segment, List<String> varNames) {
+        int open = segment.indexOf('{');
+        if (open < 0) {
+            if (node.staticChildren == null) node.staticChildren = new HashMap<>();
+            return node.staticChildren.computeIfAbsent(segment, k -> new Node<>());
+        }
+
+        int close = segment.indexOf('}', open + 1);
+        if (close < 0) throw new IllegalArgumentException("Invalid template: " + template);
+        if (segment.indexOf('{', close + 1) >= 0) {
+            throw new IllegalArgumentException("Only one path variable per segment is supported: " + template);
+        }
+        String var = segment.substring(open + 1, close).trim();
+        if (var.isEmpty()) throw new IllegalArgumentException("Empty path variable in template: " + template);
+        varNames.add(var);
+
+        String prefix = segment.substring(0, open);
+        String suffix = segment.substring(close + 1);
+        if (prefix.isEmpty() && suffix.isEmpty()) {
+            if (node.variableChild == null) node.variableChild = new Node<>();
+            return node.variableChild;
+        }
+
+        if (node.partialChildren == null) node.partialChildren = new ArrayList<>();
+        for (PartialChild<T> p : node.partialChildren) {
+            if (p.prefix.equals(prefix) && p.suffix.equals(suffix)) return p.node;
+        }
+        PartialChild<T> p = new PartialChild<>(prefix, suffix);
+        node.partialChildren.add(p);
+        return p.node;
+    }
+
+    // --- Recherche ---
+
+    private boolean match(Node<T> node, String url, int start, int varCount, Lookup<T> lookup) {
+        int end = url.indexOf('/', start);
+        boolean last = end < 0;
+        if (last) end = url.length();
+
+        if (node.staticChildren != null) {
+            Node<T> child = node.staticChildren.get(url.substring(start, end));
+            if (child != null && descend(child, url, end, last, varCount, lookup)) return true;
+        }
+
+        if (node.partialChildren != null) {
+            int len = end - start;
+            for (PartialChild<T> p : node.partialChildren) {
+                int fixed = p.prefix.length() + p.suffix.length();
+                if (len > fixed
+                        && url.startsWith(p.prefix, start)
+                        && url.startsWith(p.suffix, end - p.suffix.length())) {
+                    lookup.values[varCount] = url.substring(start + p.prefix.length(), end - p.suffix.length());
+                    if (descend(p.node, url, end, last, varCount + 1, lookup)) return true;
+                }
+            }
+        }
+
+        if (node.variableChild != null && end > start) {
+            lookup.values[varCount] = url.substring(start, end);
+            if (descend(node.variableChild, url, end, last, varCount + 1, lookup)) return true;
+        }
+        return false;
+    }
+
+    private boolean descend(Node<T> child, String url, int end, boolean last, int varCount, Lookup<T> lookup) {
+        if (last) return lookup.accept(child.endpoint);
+        return match(child, url, end + 1, varCount, lookup);
+    }
+
+    private static final class Node<T> {
+        Map<String, Node<T>> staticChildren;
+        List<PartialChild<T>> partialChildren;
+        Node<T> variableChild;
+        Endpoint<T> endpoint;
+    }
+
+    private static final class PartialChild<T> {
+        final String prefix;
+        final String suffix;
+        final Node<T> node = new Node<>();
+
+        PartialChild(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+    /**
+     * Feuille du trie: les handlers par méthode HTTP, chacun avec son template et ses noms de variables
+     * (des templates de même forme peuvent nommer différemment leurs variables).
+     */
+    public static final class Endpoint<T> {
+        private final Map<String, Handler<T>> handlers = new LinkedHashMap<>();
+        private final Set<String> allowedMethods = new LinkedHashSet<>();
+
+        /** Template enregistré pour la méthode, ou null */
+        public String getTemplate(String httpMethod) {
+            Handler<T> h = handlers.get(httpMethod);
+            return h == null ? null : h.template;
+        }
+
+        /** Noms des variables du template enregistré pour la méthode, ou null */
+        public String[] getVariableNames(String httpMethod) {
+            Handler<T> h = handlers.get(httpMethod);
+            return h == null ? null : h.variableNames.clone();
+        }
+
+        public Set<String> getAllowedMethods() {
+            return Collections.unmodifiableSet(allowedMethods);
+        }
+    }
+
+    private static final class Handler<T> {
+        final T value;
+        final String template;
+        final String[] variableNames;
+
+        Handler(T value, String template, String[] variableNames) {
+            this.value = value;
+            this.template = template;
+            this.variableNames = variableNames;
+        }
+    }
+
+    /**
+     * Résultat d'une recherche. Les méthodes autorisées (405) sont accumulées
+     * pendant le parcours, sur tous les templates qui correspondent à l'URL.
+     */
+    public static final class Lookup<T> {
+        private final String httpMethod;
+        private final String[] values;
+        private Endpoint<T> endpoint;
+        private Handler<T> handler;
+        private Set<String> allowed;
+
+        Lookup(String httpMethod, int maxVariables) {
+            this.httpMethod = httpMethod;
+            this.values = new String[maxVariables];
+        }
+
+        boolean accept(Endpoint<T> ep) {
+            if (ep == null) return false;
+            Handler<T> h = ep.handlers.get(httpMethod);
+            if (h == null) h = ep.handlers.get("*");
+            if (h != null) {
+                endpoint = ep;
+                handler = h;
+                return true;
+            }
+            if (allowed == null) allowed = new LinkedHashSet<>();
+            allowed.addAll(ep.allowedMethods);
+            return false;
+        }
+
+        public boolean isFound() {
+            return handler != null;
+        }
+
+        public boolean isMethodNotAllowed() {
+            return handler == null && allowed != null;
+        }
+
+        public T getHandler() {
+            return handler == null ? null : handler.value;
+        }
+
+        /** Template du handler trouvé */
+        public String getTemplate() {
+            return handler == null ? null : handler.template;
+        }
+
+        /** Noms des variables du handler trouvé, dans l'ordre des valeurs */
+        public String[] getVariableNames() {
+            return handler == null ? new String[0] : handler.variableNames.clone();
+        }
+
+        public Endpoint<T> getEndpoint() {
+            return endpoint;
+        }
+
+        public Set<String> getAllowedMethods() {
+            return allowed == null ? Collections.emptySet() : allowed;
+        }
+
+        /** Valeur de la i-ème variable du template trouvé. */
+        public String getValue(int index) {
+            return values[index];
+        }
+
+        /** Tableau des valeurs (peut être plus long que getValueCount()), sans copie. */
+        String[] values() {
+            return values;
+        }
+
+        public int getValueCount() {
+            return handler == null ? 0 : handler.variableNames.length;
+        }
+    }
+}
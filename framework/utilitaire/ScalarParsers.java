@@ -0,0 +1,195 @@
+package framework.utilitaire;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Noyau unique de conversion texte -> valeur scalaire, partagé par les trois chemins de liaison
+ * (paramètres de route, FormMapper, ConversionService).
+ * Les analyseurs travaillent sur des plages de CharSequence sans copie (entiers, booléens, caractères)
+ * et sont choisis une seule fois par type (ClassValue).
+ * Règles communes: texte vide ou absent -> 0/false/'\0' pour les primitifs, null pour les autres types.
+ */
+public final class ScalarParsers {
+
+    /** Conversion d'une plage [start, end) de texte; text peut être null (valeur absente) */
+    public interface Parser {
+        Object parse(CharSequence text, int start, int end);
+
+        default Object parse(CharSequence text) {
+            return parse(text, 0, text == null ? 0 : text.length());
+        }
+    }
+
+    // Formats ISO résolus une fois pour toutes (DateTimeFormatter est immuable et thread-safe)
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ISO_LOCAL_TIME;
+    private static final DateTimeFormatter OFFSET_DATE_TIME = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter ZONED_DATE_TIME = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+    private static final DateTimeFormatter INSTANT = DateTimeFormatter.ISO_INSTANT;
+
+    private static final ClassValue<Parser> PARSERS = new ClassValue<Parser>() {
+        @Override
+        protected Parser computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private ScalarParsers() {
+    }
+
+    /** Analyseur du type, ou null si le type n'est pas scalaire */
+    public static Parser parserFor(Class<?> type) {
+        return PARSERS.get(type);
+    }
+
+    private static boolean isEmpty(CharSequence text, int start, int end) {
+        return text == null || start >= end;
+    }
+
+    private static CharSequence slice(CharSequence text, int start, int end) {
+        return start == 0 && end == text.length() ? text : text.subSequence(start, end);
+    }
+
+    private static Parser create(Class<?> type) {
+        if (type == String.class)
+            return (t, s, e) -> t == null ? null : slice(t, s, e).toString();
+        if (type == int.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? 0 : parseInt(t, s, e);
+        if (type == Integer.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseInt(t, s, e);
+        if (type == long.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? 0L : parseLong(t, s, e);
+        if (type == Long.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseLong(t, s, e);
+        if (type == double.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? 0d : parseDouble(t, s, e);
+        if (type == Double.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseDouble(t, s, e);
+        if (type == boolean.class)
+            return (t, s, e) -> t != null && parseBoolean(t, s, e);
+        if (type == Boolean.class)
+            return (t, s, e) -> t == null ? null : parseBoolean(t, s, e);
+        if (type == short.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? (short) 0 : parseShort(t, s, e);
+        if (type == Short.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseShort(t, s, e);
+        if (type == byte.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? (byte) 0 : parseByte(t, s, e);
+        if (type == Byte.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseByte(t, s, e);
+        if (type == float.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? 0f : parseFloat(t, s, e);
+        if (type == Float.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseFloat(t, s, e);
+        if (type == char.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? '\0' : parseChar(t, s, e);
+        if (type == Character.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : parseChar(t, s, e);
+        if (type == BigDecimal.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : new BigDecimal(slice(t, s, e).toString());
+        if (type == BigInteger.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : new BigInteger(slice(t, s, e).toString());
+        if (type == LocalDate.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : DATE.parse(slice(t, s, e), LocalDate::from);
+        if (type == LocalDateTime.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : DATE_TIME.parse(slice(t, s, e), LocalDateTime::from);
+        if (type == LocalTime.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : TIME.parse(slice(t, s, e), LocalTime::from);
+        if (type == OffsetDateTime.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : OFFSET_DATE_TIME.parse(slice(t, s, e), OffsetDateTime::from);
+        if (type == ZonedDateTime.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : ZONED_DATE_TIME.parse(slice(t, s, e), ZonedDateTime::from);
+        if (type == Instant.class)
+            return (t, s, e) -> isEmpty(t, s, e) ? null : INSTANT.parse(slice(t, s, e), Instant::from);
+        if (type.isEnum())
+            return enumParser(type);
+        return null;
+    }
+
+    // --- Analyse des primitifs sur une plage ---
+
+    public static int parseInt(CharSequence text, int start, int end) {
+        return Integer.parseInt(text, start, end, 10);
+    }
+
+    public static long parseLong(CharSequence text, int start, int end) {
+        return Long.parseLong(text, start, end, 10);
+    }
+
+    public static short parseShort(CharSequence text, int start, int end) {
+        int value = parseInt(text, start, end);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range: \"" + slice(text, start, end) + "\"");
+        }
+        return (short) value;
+    }
+
+    public static byte parseByte(CharSequence text, int start, int end) {
+        int value = parseInt(text, start, end);
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range: \"" + slice(text, start, end) + "\"");
+        }
+        return (byte) value;
+    }
+
+    // Le JDK n'analyse les flottants que depuis une String: copie seulement pour une sous-plage
+    public static double parseDouble(CharSequence text, int start, int end) {
+        return Double.parseDouble(slice(text, start, end).toString());
+    }
+
+    public static float parseFloat(CharSequence text, int start, int end) {
+        return Float.parseFloat(slice(text, start, end).toString());
+    }
+
+    /** "true" (casse ignorée) ou "1" -> true, tout le reste -> false */
+    public static boolean parseBoolean(CharSequence text, int start, int end) {
+        int len = end - start;
+        if (len == 1) return text.charAt(start) == '1';
+        if (len != 4) return false;
+        return (text.charAt(start) | 0x20) == 't' && (text.charAt(start + 1) | 0x20) == 'r'
+                && (text.charAt(start + 2) | 0x20) == 'u' && (text.charAt(start + 3) | 0x20) == 'e';
+    }
+
+    public static char parseChar(CharSequence text, int start, int end) {
+        if (end - start != 1) {
+            throw new IllegalArgumentException("Expected a single character: \"" + slice(text, start, end) + "\"");
+        }
+        return text.charAt(start);
+    }
+
+    // --- Énumérations: table nom -> constante construite une fois par type ---
+
+    private static Parser enumParser(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        Map<String, Object> byName = new HashMap<>(constants.length * 2);
+        Map<String, Object> byUpperName = new HashMap<>(constants.length * 2);
+        for (Object constant : constants) {
+            String name = ((Enum<?>) constant).name();
+            byName.put(name, constant);
+            byUpperName.putIfAbsent(name.toUpperCase(Locale.ROOT), constant);
+        }
+        String typeName = type.getName();
+        return (t, s, e) -> {
+            if (isEmpty(t, s, e)) return null;
+            String name = slice(t, s, e).toString();
+            Object constant = byName.get(name);
+            if (constant == null) constant = byUpperName.get(name.toUpperCase(Locale.ROOT));
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant " + typeName + "." + name);
+            }
+            return constant;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package framework.utilitaire;
+
+import framework.annotation.SingleFlight;
+
+/**
+ * Politique de regroupement d'une route (@SingleFlight), résolue une seule fois:
+ * attente maximale et composition de la clé.
+ */
+public final class SingleFlightPolicy {
+
+    private final long timeoutMillis;
+    private final RouteKey key;
+
+    private SingleFlightPolicy(long timeoutMillis, RouteKey key) {
+        this.timeoutMillis = timeoutMillis;
+        this.key = key;
+    }
+
+    /**
+     * @param variableNames variables du template de la route
+     * @return la politique, ou null si l'annotation est absente
+     */
+    public static SingleFlightPolicy of(SingleFlight singleFlight, String[] variableNames) {
+        if (singleFlight == null) return null;
+        return new SingleFlightPolicy(Math.max(0, singleFlight.timeout()), RouteKey.of(singleFlight.key(), variableNames));
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public RouteKey getKey() {
+        return key;
+    }
+}
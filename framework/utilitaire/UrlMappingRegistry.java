@@ -1,16 +1,20 @@
 package framework.utilitaire;
 
+import framework.annotation.Auth;
 import framework.annotation.GetMapping;
 import framework.annotation.PostMapping;
 import framework.annotation.RequestMapping;
+import framework.annotation.ResponseBody;
+import framework.annotation.RestController;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Responsable de la gestion du registre des mappings URL -> Classe/Méthode
@@ -18,61 +22,69 @@ import java.util.regex.Pattern;
  */
 public class UrlMappingRegistry {
     
-    // exact matches: url -> (method -> MappingInfo) ; method '*' means any
-    private Map<String, Map<String, MappingInfo>> urlMappings;
-    private List<PatternEntry> patternMappings;   // template-based matches
-    private boolean initialized;
+    // exact matches: url -> (method -> RouteDescriptor) ; method '*' means any
+    private Map<String, ExactEntry> urlMappings;
+    private RouteTrie<RouteDescriptor> patternMappings; // template-based matches
+    private List<RouteDescriptor> descriptors;
+    private volatile boolean initialized;
     
     public UrlMappingRegistry() {
         this.urlMappings = new HashMap<>();
-        this.patternMappings = new ArrayList<>();
+        this.patternMappings = new RouteTrie<>();
+        this.descriptors = new ArrayList<>();
         this.initialized = false;
     }
     
     /**
      * Construit le registre des URLs à partir des classes scannées
+     * Le registre ne doit plus être modifié une fois construit (instantané immuable).
      * @param classes Liste des classes avec @Controller
      */
-    public void buildRegistry(List<Class<?>> classes) {
-        if (initialized) {
-            System.out.println("Registre déjà initialisé.");
-            return;
+    public synchronized void buildRegistry(List<Class<?>> classes) {
+        List<RouteDefinition> routes = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            routes.addAll(collectRoutes(clazz));
         }
+        buildRoutes(routes);
+    }
+
+    /**
+     * Extrait par réflexion les routes déclarées par une classe contrôleur
+     * (@GetMapping, @PostMapping, @RequestMapping, préfixe @RequestMapping de classe, @Auth)
+     */
+    public static List<RouteDefinition> collectRoutes(Class<?> clazz) {
+        List<RouteDefinition> routes = new ArrayList<>();
+        Method[] methods = clazz.getDeclaredMethods();
         
-        urlMappings.clear();
-        patternMappings.clear();
-        int urlCount = 0;
-        
-        for (Class<?> clazz : classes) {
-            Method[] methods = clazz.getDeclaredMethods();
-            
-            // Vérifier si la classe a un @RequestMapping global
-            String baseUrl = "";
-            if (clazz.isAnnotationPresent(RequestMapping.class)) {
-                baseUrl = clazz.getAnnotation(RequestMapping.class).value();
-                if (baseUrl.endsWith("/")) {
-                    baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
-                }
+        // Vérifier si la classe a un @RequestMapping global
+        String baseUrl = "";
+        if (clazz.isAnnotationPresent(RequestMapping.class)) {
+            baseUrl = clazz.getAnnotation(RequestMapping.class).value();
+            if (baseUrl.endsWith("/")) {
+                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
             }
-
-            for (Method method : methods) {
-                if (method.isAnnotationPresent(GetMapping.class) || method.isAnnotationPresent(PostMapping.class) || method.isAnnotationPresent(RequestMapping.class)) {
-                    String urlPart = null;
-                    if (method.isAnnotationPresent(GetMapping.class)) {
-                        GetMapping mapping = method.getAnnotation(GetMapping.class);
-                        urlPart = mapping.value();
-                    } else if (method.isAnnotationPresent(PostMapping.class)) {
-                        PostMapping mapping = method.getAnnotation(PostMapping.class);
-                        urlPart = mapping.value();
-                    } else if (method.isAnnotationPresent(RequestMapping.class)) {
-                        RequestMapping mapping = method.getAnnotation(RequestMapping.class);
-                        urlPart = mapping.value();
-                    }
-                    
-                    // Combiner baseUrl et urlPart
-                    if (urlPart != null) {
-                        if (!urlPart.startsWith("/")) urlPart = "/" + urlPart;
-                        String url = baseUrl + urlPart;
+        }
+        boolean restController = clazz.isAnnotationPresent(RestController.class);
+        Auth classAuth = clazz.getAnnotation(Auth.class);
+
+        for (Method method : methods) {
+            if (method.isAnnotationPresent(GetMapping.class) || method.isAnnotationPresent(PostMapping.class) || method.isAnnotationPresent(RequestMapping.class)) {
+                String urlPart = null;
+                if (method.isAnnotationPresent(GetMapping.class)) {
+                    GetMapping mapping = method.getAnnotation(GetMapping.class);
+                    urlPart = mapping.value();
+                } else if (method.isAnnotationPresent(PostMapping.class)) {
+                    PostMapping mapping = method.getAnnotation(PostMapping.class);
+                    urlPart = mapping.value();
+                } else if (method.isAnnotationPresent(RequestMapping.class)) {
+                    RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+                    urlPart = mapping.value();
+                }
+                
+                // Combiner baseUrl et urlPart
+                if (urlPart != null) {
+                    if (!urlPart.startsWith("/")) urlPart = "/" + urlPart;
+                    String url = baseUrl + urlPart;
 
                     // determine allowed method
                     String declaredMethod = "*";
@@ -84,97 +96,126 @@ public class UrlMappingRegistry {
                         else declaredMethod = "*";
                     }
 
-                    if (isTemplate(url)) {
-                        // Pour les templates, chercher si une PatternEntry existe déjà
-                        PatternEntry existing = findPatternEntry(url);
-                        if (existing != null) {
-                            // Ajouter la méthode HTTP à l'entrée existante
-                            existing.allowedMethods.add(declaredMethod);
-                            // Si c'est une méthode différente, mettre à jour les infos
-                            if (!existing.methods.containsKey(declaredMethod)) {
-                                existing.methods.put(declaredMethod, new MethodInfo(clazz, method));
-                            }
-                        } else {
-                            PatternEntry pe = compileTemplate(url, clazz, method);
-                            pe.allowedMethods.add(declaredMethod);
-                            pe.methods.put(declaredMethod, new MethodInfo(clazz, method));
-                            patternMappings.add(pe);
-                        }
-                    } else {
-                        // CORRECTION: ne pas écraser, accumuler les méthodes HTTP différentes
-                        Map<String, MappingInfo> methodMap = urlMappings.computeIfAbsent(url, k -> new HashMap<>());
-                        
-                        // Vérifier si cette combinaison URL+méthode existe déjà
-                        if (methodMap.containsKey(declaredMethod)) {
-                            System.out.println("ATTENTION: Mapping dupliqué ignoré: " + declaredMethod + " " + url + 
-                                             " dans " + clazz.getSimpleName() + "." + method.getName());
-                        } else {
-                            methodMap.put(declaredMethod, new MappingInfo(clazz, method, url, declaredMethod));
-                            urlCount++;
-                            System.out.println("Enregistré: " + declaredMethod + " " + url + 
-                                             " -> " + clazz.getSimpleName() + "." + method.getName());
-                        }
-                        }
-                    }
+                    // Résoudre l'annotation @Auth (méthode d'abord, puis classe)
+                    Auth auth = method.isAnnotationPresent(Auth.class) ? method.getAnnotation(Auth.class) : classAuth;
+                    String authRole = auth == null ? null : (auth.value() == null ? "" : auth.value());
+                    boolean responseBody = restController || method.isAnnotationPresent(ResponseBody.class);
+
+                    routes.add(new RouteDefinition(clazz, method, url, declaredMethod, authRole, responseBody));
                 }
             }
         }
+        return routes;
+    }
+
+    /**
+     * Construit le registre à partir de routes déjà extraites (réflexion, index persistant...)
+     */
+    public synchronized void buildRoutes(List<RouteDefinition> routes) {
+        if (initialized) {
+            System.out.println("Registre déjà initialisé.");
+            return;
+        }
+        
+        urlMappings.clear();
+        patternMappings = new RouteTrie<>();
+        descriptors.clear();
+        int urlCount = 0;
+
+        for (RouteDefinition route : routes) {
+            String url = route.getUrl();
+            String declaredMethod = route.getHttpMethod();
+            Class<?> clazz = route.getControllerClass();
+            Method method = route.getMethod();
+
+            if (isTemplate(url)) {
+                // Les templates sont insérés dans le trie de segments (une seule entrée par template)
+                String[] names = route.getVariableNames() != null ? route.getVariableNames() : RouteTrie.variableNames(url);
+                RouteDescriptor rd = new RouteDescriptor(descriptors.size(), route, names);
+                if (patternMappings.insert(url, declaredMethod, rd)) {
+                    descriptors.add(rd);
+                }
+            } else {
+                // CORRECTION: ne pas écraser, accumuler les méthodes HTTP différentes
+                ExactEntry entry = urlMappings.computeIfAbsent(url, k -> new ExactEntry());
+                
+                // Vérifier si cette combinaison URL+méthode existe déjà
+                if (entry.byMethod.containsKey(declaredMethod)) {
+                    System.out.println("ATTENTION: Mapping dupliqué ignoré: " + declaredMethod + " " + url + 
+                                     " dans " + clazz.getSimpleName() + "." + method.getName());
+                } else {
+                    RouteDescriptor rd = new RouteDescriptor(descriptors.size(), route, null);
+                    entry.byMethod.put(declaredMethod, rd);
+                    descriptors.add(rd);
+                    urlCount++;
+                    System.out.println("Enregistré: " + declaredMethod + " " + url + 
+                                     " -> " + clazz.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        // Pré-calculer les réponses 405 des URLs exactes
+        for (ExactEntry entry : urlMappings.values()) {
+            entry.notAllowed = RouteMatch.methodNotAllowed(new LinkedHashSet<>(entry.byMethod.keySet()));
+        }
         
         initialized = true;
         System.out.println("\nRegistre construit: " + urlCount + " URL(s) mappée(s).\n");
     }
-    
+
     /**
-     * Recherche un mapping par URL
-     * @param url L'URL à rechercher
-     * @return MappingInfo ou null si non trouvé
+     * Recherche la route correspondant à une URL et une méthode HTTP.
+     * Aucune réflexion: seuls les descripteurs pré-calculés sont consultés.
+     * @return RouteMatch trouvé, 405 (méthodes autorisées), ou RouteMatch.NOT_FOUND
      */
-    public MappingInfo findByUrl(String url, String httpMethod) {
+    public RouteMatch match(String url, String httpMethod) {
         String method = httpMethod == null ? "GET" : httpMethod.toUpperCase();
 
         // exact match
-        Map<String, MappingInfo> methods = urlMappings.get(url);
-        if (methods != null) {
-            MappingInfo mi = methods.get(method);
-            if (mi != null) return mi;
-            mi = methods.get("*");
-            if (mi != null) return mi;
+        ExactEntry entry = urlMappings.get(url);
+        if (entry != null) {
+            RouteDescriptor rd = entry.byMethod.get(method);
+            if (rd == null) rd = entry.byMethod.get("*");
+            if (rd != null) return rd.getStaticMatch();
             // method not allowed
-            MappingInfo info = new MappingInfo();
-            info.setMethodNotAllowed(methods.keySet());
-            return info;
+            return entry.notAllowed;
         }
 
-        // pattern mappings
-        java.util.Set<String> collectedAllowed = new java.util.HashSet<>();
-        for (PatternEntry pe : patternMappings) {
-            Matcher m = pe.pattern.matcher(url);
-            if (m.matches()) {
-                // if allowed for this method
-                if (pe.allowedMethods.contains(method) || pe.allowedMethods.contains("*")) {
-                    MethodInfo mInfo = pe.methods.get(method);
-                    if (mInfo == null) mInfo = pe.methods.get("*");
-                    if (mInfo != null) {
-                        MappingInfo info = new MappingInfo(mInfo.controllerClass, mInfo.method, pe.template, method);
-                        for (int i = 0; i < pe.variableNames.size(); i++) {
-                            String value = m.group(i + 1);
-                            info.setPathVariable(pe.variableNames.get(i), value);
-                        }
-                        return info;
-                    }
-                }
-                collectedAllowed.addAll(pe.allowedMethods);
-            }
+        // pattern mappings: parcours du trie, coût proportionnel à la profondeur du chemin
+        RouteTrie.Lookup<RouteDescriptor> lookup = patternMappings.find(url, method);
+        if (lookup.isFound()) {
+            return new RouteMatch(lookup.getHandler(), lookup.values());
         }
-
-        if (!collectedAllowed.isEmpty()) {
+        if (lookup.isMethodNotAllowed()) {
+            return RouteMatch.methodNotAllowed(lookup.getAllowedMethods());
+        }
+        return RouteMatch.NOT_FOUND;
+    }
+    
+    /**
+     * Recherche un mapping par URL
+     * @param url L'URL à rechercher
+     * @return MappingInfo ou null si non trouvé
+     */
+    public MappingInfo findByUrl(String url, String httpMethod) {
+        RouteMatch match = match(url, httpMethod);
+        if (match.isFound()) {
+            return new MappingInfo(match);
+        }
+        if (match.isMethodNotAllowed()) {
             MappingInfo info = new MappingInfo();
-            info.setMethodNotAllowed(collectedAllowed);
+            info.setMethodNotAllowed(match.getAllowedMethods());
             return info;
         }
-
         return null;
     }
+
+    /**
+     * Liste des routes enregistrées, indexée par RouteDescriptor.getId()
+     */
+    public List<RouteDescriptor> getDescriptors() {
+        return Collections.unmodifiableList(descriptors);
+    }
     
     /**
      * Vérifie si le registre est initialisé
@@ -187,7 +228,7 @@ public class UrlMappingRegistry {
      * Retourne le nombre d'URLs enregistrées
      */
     public int size() {
-        return urlMappings.size();
+        return urlMappings.size() + patternMappings.size();
     }
 
     // --- Internal helpers for template handling ---
@@ -195,65 +236,8 @@ public class UrlMappingRegistry {
         return url != null && url.contains("{") && url.contains("}");
     }
 
-    private PatternEntry findPatternEntry(String template) {
-        for (PatternEntry pe : patternMappings) {
-            if (pe.template.equals(template)) {
-                return pe;
-            }
-        }
-        return null;
-    }
-
-    private PatternEntry compileTemplate(String template, Class<?> controller, Method method) {
-        List<String> varNames = new ArrayList<>();
-        StringBuilder regex = new StringBuilder();
-        regex.append('^');
-        int i = 0;
-        while (i < template.length()) {
-            char c = template.charAt(i);
-            if (c == '{') {
-                int end = template.indexOf('}', i + 1);
-                if (end < 0) throw new IllegalArgumentException("Invalid template: " + template);
-                String var = template.substring(i + 1, end).trim();
-                if (var.isEmpty()) throw new IllegalArgumentException("Empty path variable in template: " + template);
-                varNames.add(var);
-                regex.append("([^/]+)");
-                i = end + 1;
-            } else {
-                // escape regex special chars
-                if (".[]{}()+-^$|\\".indexOf(c) >= 0) {
-                    regex.append('\\');
-                }
-                regex.append(c);
-                i++;
-            }
-        }
-        regex.append('$');
-        Pattern pattern = Pattern.compile(regex.toString());
-        return new PatternEntry(template, pattern, varNames);
-    }
-
-    private static class MethodInfo {
-        final Class<?> controllerClass;
-        final Method method;
-
-        MethodInfo(Class<?> controllerClass, Method method) {
-            this.controllerClass = controllerClass;
-            this.method = method;
-        }
-    }
-
-    private static class PatternEntry {
-        final String template;
-        final Pattern pattern;
-        final List<String> variableNames;
-        final java.util.Set<String> allowedMethods = new java.util.HashSet<>();
-        final Map<String, MethodInfo> methods = new HashMap<>();
-
-        PatternEntry(String template, Pattern pattern, List<String> variableNames) {
-            this.template = template;
-            this.pattern = pattern;
-            this.variableNames = variableNames;
-        }
+    private static class ExactEntry {
+        final Map<String, RouteDescriptor> byMethod = new LinkedHashMap<>();
+        RouteMatch notAllowed;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package framework.utilitaire;
+
+/**
+ * Résultat JSON qui connaît sa propre version (numéro de révision, date de mise à jour...).
+ * Le servlet en tire l'ETag sans sérialiser ni hacher le corps: un If-None-Match
+ * correspondant est servi en 304 avant même l'appel à JsonSerializer.
+ */
+public interface Versioned {
+    /** Version courante; deux contenus différents ne doivent jamais partager la même valeur */
+    String getVersion();
+}
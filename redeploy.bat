@@ -19,9 +19,9 @@ echo 3. Compilation des sources du framework...
 REM Compiler toutes les annotations
 javac --release 17 -parameters -d "build\classes" framework\annotation\*.java
 
-REM Compiler les utilitaires SANS dépendances servlet (MappingInfo avant UrlMappingRegistry)
-javac --release 17 -parameters -classpath "build\classes" -d "build\classes" framework\utilitaire\MappingInfo.java
-javac --release 17 -parameters -classpath "build\classes" -d "build\classes" framework\utilitaire\ConfigLoader.java framework\utilitaire\ClassScanner.java framework\utilitaire\UrlMappingRegistry.java framework\utilitaire\MethodInvoker.java framework\utilitaire\ModelAndView.java framework\utilitaire\FormMapper.java framework\utilitaire\ValidationResult.java framework\utilitaire\ConversionService.java framework\utilitaire\ConverterRegistry.java framework\utilitaire\Converter.java framework\utilitaire\ConversionKey.java framework\utilitaire\JsonSerializer.java
+REM Compiler les utilitaires SANS dépendances servlet (descripteurs et MappingInfo avant UrlMappingRegistry)
+javac --release 17 -parameters -classpath "build\classes" -d "build\classes" framework\utilitaire\ParameterInfo.java framework\utilitaire\RouteInvoker.java framework\utilitaire\RouteInvokers.java framework\utilitaire\ControllerProvider.java framework\utilitaire\RouteKey.java framework\utilitaire\CachePolicy.java framework\utilitaire\SingleFlightPolicy.java framework\utilitaire\RequestCoalescer.java framework\utilitaire\ResponseCache.java framework\utilitaire\ETags.java framework\utilitaire\Versioned.java framework\utilitaire\RouteDefinition.java framework\utilitaire\RouteDescriptor.java framework\utilitaire\RouteMatch.java framework\utilitaire\MappingInfo.java
+javac --release 17 -parameters -classpath "build\classes" -d "build\classes" framework\utilitaire\ConfigLoader.java framework\utilitaire\ClassFileInspector.java framework\utilitaire\ClassScanner.java framework\utilitaire\RouteIndex.java framework\utilitaire\RouteTable.java framework\utilitaire\RouteTrie.java framework\utilitaire\ConventionRouteTable.java framework\utilitaire\UrlMappingRegistry.java framework\utilitaire\MethodInvoker.java framework\utilitaire\ModelAndView.java framework\utilitaire\ScalarParsers.java framework\utilitaire\MultiValueParsers.java framework\utilitaire\BindingSource.java framework\utilitaire\BeanBindingPlan.java framework\utilitaire\FormMapper.java framework\utilitaire\JsonReader.java framework\utilitaire\JsonBinder.java framework\utilitaire\ValidationResult.java framework\utilitaire\BeanValidator.java framework\utilitaire\EntityLookupCache.java framework\utilitaire\ConversionService.java framework\utilitaire\ConverterRegistry.java framework\utilitaire\Converter.java framework\utilitaire\ConversionKey.java framework\utilitaire\JsonSerializer.java
 
 REM Compiler les classes HTTP (ex: MultipartFile)
 javac --release 17 -parameters -classpath "build\classes;jakarta.servlet-api_5.0.0.jar" -d "build\classes" framework\http\*.java
@@ -49,6 +49,7 @@ if errorlevel 1 (
 REM Étape 4: Compilation des classes de test
 echo 4. Compilation des classes de test...
 if exist "testFramework\WEB-INF\classes\testFramework" rmdir /s /q "testFramework\WEB-INF\classes\testFramework"
+if exist "testFramework\WEB-INF\classes\META-INF\services\framework.utilitaire.RouteTable" del "testFramework\WEB-INF\classes\META-INF\services\framework.utilitaire.RouteTable"
 if not exist "testFramework\WEB-INF\classes" mkdir "testFramework\WEB-INF\classes"
 
 REM Copier config.properties
@@ -64,6 +65,14 @@ for %%D in (model controller admin util) do (
 REM Compiler la classe principale
 javac --release 17 -parameters -classpath "jakarta.servlet-api_5.0.0.jar;build\classes;testFramework\WEB-INF\classes" -d "testFramework\WEB-INF\classes" testFramework\com\testframework\Main.java
 
+REM (Optionnel) Table de routes générée à la compilation: recompiler tous les contrôleurs en une seule fois
+REM avec RouteProcessor; au démarrage AnnotationReader en reprend les routes (seuls les contrôleurs absents sont analysés).
+REM Activer avec: set ROUTE_TABLE=1
+if "%ROUTE_TABLE%"=="1" (
+    echo Génération de la table de routes...
+    javac --release 17 -parameters -processor framework.annotation.RouteProcessor -processorpath "build\classes" -classpath "jakarta.servlet-api_5.0.0.jar;build\classes;testFramework\WEB-INF\classes" -d "testFramework\WEB-INF\classes" testFramework\com\testframework\model\*.java testFramework\com\testframework\controller\*.java testFramework\com\testframework\admin\*.java
+)
+
 if errorlevel 1 (
     echo ERREUR: Échec de la compilation des classes de test!
     pause
@@ -1,18 +1,73 @@
 package testFramework.com.testframework;
 
+import framework.utilitaire.BeanBindingPlan;
+import framework.utilitaire.BeanValidator;
 import framework.utilitaire.ConversionService;
+import framework.annotation.EntityCache;
 import framework.utilitaire.ConverterRegistry;
+import framework.utilitaire.EntityLookupCache;
+import framework.utilitaire.FormMapper;
+import framework.utilitaire.JsonBinder;
+import framework.utilitaire.JsonReader;
+import framework.utilitaire.MultiValueParsers;
+import framework.utilitaire.ScalarParsers;
+import framework.utilitaire.ValidationResult;
 import testFramework.com.testframework.model.Departement;
 import testFramework.com.testframework.model.EmployeDTO;
 import testFramework.com.testframework.model.Lieu;
+import testFramework.com.testframework.model.UserForm;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class ConversionTests {
 
+    /** Référentiel simulé: compte les appels de la factory (requêtes en base en production) */
+    @EntityCache(maxSize = 2, ttl = 60)
+    public static class Region {
+        static final java.util.concurrent.atomic.AtomicInteger LOOKUPS = new java.util.concurrent.atomic.AtomicInteger();
+        final String code;
+
+        Region(String code) {
+            this.code = code;
+        }
+
+        public static Region fromId(String id) throws InterruptedException {
+            LOOKUPS.incrementAndGet();
+            Thread.sleep(50);
+            return "inconnue".equals(id) ? null : new Region(id);
+        }
+    }
+
+    @EntityCache(maxSize = 2, ttl = 60)
+    public static class MutableRegion {
+        String code;
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public static MutableRegion fromId(String id) {
+            MutableRegion r = new MutableRegion();
+            r.code = id;
+            return r;
+        }
+    }
+
     public static void main(String[] args) {
         testDepartementConverter();
         testLieuConverter();
         testRegistry();
+        testRegistryHierarchy();
         testConversionService();
+        testStaticFactories();
+        testEntityCache();
+        testScalarParsers();
+        testMultiValueParsers();
+        testBeanBindingPlan();
+        testPropertyPaths();
+        testJsonBinder();
+        testBeanValidator();
         testBindingSimulation();
     }
 
@@ -33,12 +88,342 @@ public class ConversionTests {
         System.out.println("Test ConverterRegistry (vide): getConverter=" + ok1 + ", canConvert(Lieu)=" + ok2);
     }
 
+    private static void testRegistryHierarchy() {
+        ConverterRegistry registry = new ConverterRegistry();
+        boolean okNegative = registry.getConverter(String.class, Lieu.class) == null;
+
+        // Enregistrement après une absence mémorisée: la résolution est refaite
+        registry.registerConverter(CharSequence.class, Lieu.class, (CharSequence s) -> Lieu.fromId(s.toString()));
+        Lieu lieu = registry.getConverter(String.class, Lieu.class).convert("1");
+        boolean okHierarchy = lieu != null && lieu.getId() == 1L
+                && registry.getConverter(StringBuilder.class, Lieu.class) != null;
+
+        registry.registerConverter(String.class, Integer.class, (String s) -> Integer.valueOf(s.trim()));
+        boolean okBoxing = registry.canConvert(String.class, int.class)
+                && registry.getConverter(String.class, int.class) == registry.getConverter(String.class, Integer.class)
+                && !registry.canConvert(String.class, long.class);
+
+        System.out.println("Test ConverterRegistry (hiérarchie): absence=" + okNegative + ", interfaces=" + okHierarchy
+                + ", boxing=" + okBoxing);
+    }
+
     private static void testConversionService() {
         ConversionService cs = ConversionService.getInstance();
         Departement d = cs.convert("2", Departement.class);
         System.out.println("Test ConversionService simple: " + (d != null && d.getId() == 2L));
     }
 
+    private static void testStaticFactories() {
+        ConversionService cs = ConversionService.getInstance();
+        boolean okFromId = cs.convert("3", Departement.class).getId() == 3L
+                && cs.convert("3", Departement.class).getNomDept().equals("Marketing");
+        boolean okValueOf = cs.convert("MONDAY", java.time.DayOfWeek.class) == java.time.DayOfWeek.MONDAY;
+        boolean okParse = java.time.LocalDate.of(2024, 2, 29).equals(cs.convert("2024-02-29", java.time.LocalDate.class));
+        boolean okConstructor = new java.math.BigDecimal("12.50").equals(cs.convert("12.50", java.math.BigDecimal.class));
+
+        // Type sans factory: absence mémorisée, même erreur qu'auparavant à chaque appel
+        boolean okAbsent = true;
+        for (int i = 0; i < 2; i++) {
+            try {
+                cs.convert("x", Object[].class);
+                okAbsent = false;
+            } catch (IllegalArgumentException e) {
+                okAbsent &= e.getMessage().startsWith("No converter found");
+            }
+        }
+        System.out.println("Test factories statiques: fromId=" + okFromId + ", valueOf=" + okValueOf + ", parse=" + okParse
+                + ", constructeur=" + okConstructor + ", absente=" + okAbsent);
+    }
+
+    private static void testScalarParsers() {
+        ConversionService cs = ConversionService.getInstance();
+
+        // Plages de CharSequence: aucune sous-chaîne nécessaire pour les entiers et booléens
+        String query = "id=42&actif=TRUE&taux=-7";
+        boolean okRange = ScalarParsers.parseInt(query, 3, 5) == 42
+                && ScalarParsers.parseBoolean(query, 12, 16)
+                && ScalarParsers.parseLong(query, 22, 24) == -7L
+                && Integer.valueOf(42).equals(ScalarParsers.parserFor(int.class).parse(new StringBuilder("42")));
+
+        // Vide: valeur par défaut pour les primitifs, null pour les wrappers
+        boolean okEmpty = Short.valueOf((short) 0).equals(ScalarParsers.parserFor(short.class).parse(""))
+                && ScalarParsers.parserFor(Short.class).parse("") == null
+                && Character.valueOf('\0').equals(ScalarParsers.parserFor(char.class).parse(null));
+
+        boolean okTypes = cs.convert("3", short.class) == 3
+                && cs.convert("1.5", float.class) == 1.5f
+                && cs.convert("x", char.class) == 'x'
+                && new java.math.BigDecimal("12.50").equals(cs.convert("12.50", java.math.BigDecimal.class))
+                && cs.convert("monday", java.time.DayOfWeek.class) == java.time.DayOfWeek.MONDAY
+                && java.time.LocalDateTime.of(2024, 5, 1, 8, 30).equals(cs.convert("2024-05-01T08:30", java.time.LocalDateTime.class))
+                && ScalarParsers.parserFor(Departement.class) == null;
+
+        boolean okInvalid = false;
+        try {
+            cs.convert("40000", short.class);
+        } catch (NumberFormatException e) {
+            okInvalid = true;
+        }
+
+        System.out.println("Test analyseurs scalaires: plages=" + okRange + ", vide=" + okEmpty + ", types=" + okTypes
+                + ", invalide=" + okInvalid);
+    }
+
+    /** Formulaire de sélection multiple (cases à cocher, listes d'identifiants) */
+    public static class Selection {
+        private int[] ids;
+        private List<Long> refs;
+        private java.util.Set<String> tags;
+
+        public int[] getIds() {
+            return ids;
+        }
+
+        public List<Long> getRefs() {
+            return refs;
+        }
+
+        public java.util.Set<String> getTags() {
+            return tags;
+        }
+    }
+
+    private static void testMultiValueParsers() {
+        try {
+            // Valeurs répétées (?id=1&id=2) et délimitées (?id=3, 4) combinées, sans boxing
+            MultiValueParsers.Parser ints = MultiValueParsers.parserFor(int[].class, int[].class);
+            int[] ids = (int[]) ints.parse(new String[] { "1", "2", "3, 4,," });
+            boolean okArray = java.util.Arrays.equals(ids, new int[] { 1, 2, 3, 4 })
+                    && ((int[]) ints.parse(new String[] { "" })).length == 0
+                    && ints.parse(null) == null;
+
+            java.lang.reflect.Type listOfLong = Selection.class.getDeclaredField("refs").getGenericType();
+            Object refs = MultiValueParsers.parserFor(List.class, listOfLong).parse(new String[] { "10,20" });
+            boolean okList = java.util.Arrays.asList(10L, 20L).equals(refs)
+                    && MultiValueParsers.parserFor(List.class, List.class).parse(new String[] { "a" }).equals(java.util.Arrays.asList("a"))
+                    && MultiValueParsers.parserFor(Departement[].class, Departement[].class) == null
+                    && MultiValueParsers.parserFor(String.class, String.class) == null;
+
+            java.util.Map<String, Object> form = new java.util.HashMap<>();
+            form.put("ids", new String[] { "5", "6" });
+            form.put("refs", java.util.Arrays.asList("7", "8"));
+            form.put("tags", new String[] { "b", "a", "b" });
+            Selection selection = FormMapper.map(form, Selection.class);
+            boolean okForm = java.util.Arrays.equals(selection.getIds(), new int[] { 5, 6 })
+                    && java.util.Arrays.asList(7L, 8L).equals(selection.getRefs())
+                    && java.util.Arrays.asList("b", "a").equals(new ArrayList<>(selection.getTags()));
+
+            // Texte libre: jamais découpé aux virgules (String[], List<String>, Set<String>)
+            String[] names = (String[]) MultiValueParsers.parserFor(String[].class, String[].class)
+                    .parse(new String[] { "Dupont, Jean", "", " Martin " });
+            Object nameList = MultiValueParsers.parserFor(List.class, List.class).parse(new String[] { "Dupont, Jean" });
+            boolean okText = java.util.Arrays.equals(names, new String[] { "Dupont, Jean", " Martin " })
+                    && java.util.Arrays.asList("Dupont, Jean").equals(nameList);
+
+            System.out.println("Test paramètres multi-valués: tableau=" + okArray + ", liste=" + okList + ", formulaire=" + okForm
+                    + ", texte=" + okText);
+        } catch (Exception e) {
+            System.out.println("Test paramètres multi-valués: false (" + e + ")");
+        }
+    }
+
+    private static void testBeanBindingPlan() {
+        BeanBindingPlan plan = BeanBindingPlan.of(EmployeDTO.class);
+        boolean okCached = plan == BeanBindingPlan.of(EmployeDTO.class)
+                && plan.getPropertyNames().length == 5
+                && java.util.Arrays.asList(plan.getPropertyNames()).containsAll(java.util.Arrays.asList("nom", "age", "dept", "lieu", "ETU"));
+
+        // Même plan pour FormMapper: scalaires, entités (factory fromId) et erreurs par champ
+        java.util.Map<String, Object> form = new java.util.HashMap<>();
+        form.put("nom", "Bob");
+        form.put("age", "41");
+        form.put("dept", "2");
+        EmployeDTO dto = FormMapper.map(form, EmployeDTO.class);
+        boolean okBind = "Bob".equals(dto.getNom()) && dto.getAge() == 41
+                && dto.getDept() != null && dto.getDept().getId() == 2L && dto.getLieu() == null;
+
+        form.put("age", "quarante");
+        boolean okErrors = false;
+        try {
+            FormMapper.map(form, EmployeDTO.class);
+        } catch (FormMapper.FormMappingException e) {
+            okErrors = e.getFieldErrors().size() == 1 && e.getFieldErrors().containsKey("age");
+        }
+
+        System.out.println("Test plan de liaison: cache=" + okCached + ", liaison=" + okBind + ", erreurs=" + okErrors);
+    }
+
+    /** Formulaire imbriqué: objet, liste, tableau et Map */
+    public static class Commande {
+        private EmployeDTO employe;
+        private List<Ligne> lignes;
+        private Ligne[] options;
+        private java.util.Map<String, Integer> notes;
+        private Agence agence = Agence.SIEGE;
+    }
+
+    /** Instance partagée (comme une entité en cache): jamais modifiée par une liaison */
+    public static class Agence {
+        static final Agence SIEGE = new Agence();
+        private String nom = "Siège";
+
+        public static Agence fromId(String id) {
+            return SIEGE;
+        }
+    }
+
+    public static class Ligne {
+        private String produit;
+        private int quantite;
+    }
+
+    private static void testPropertyPaths() {
+        java.util.Map<String, Object> form = new java.util.LinkedHashMap<>();
+        form.put("employe.nom", "Alice");
+        form.put("employe.dept", "1");
+        form.put("lignes[1].produit", "stylo");
+        form.put("lignes[1].quantite", "3");
+        form.put("lignes[0].quantite", "2");
+        form.put("options[2].produit", "cadeau");
+        form.put("notes[math]", "15");
+        form.put("notes['info']", "18");
+        form.put("inconnu.x", "ignoré");
+        Commande c = FormMapper.map(form, Commande.class);
+
+        boolean okNested = c.employe != null && "Alice".equals(c.employe.getNom())
+                && c.employe.getDept() != null && c.employe.getDept().getId() == 1L;
+        boolean okIndexed = c.lignes.size() == 2 && c.lignes.get(0).quantite == 2
+                && "stylo".equals(c.lignes.get(1).produit) && c.lignes.get(1).quantite == 3
+                && c.options.length == 3 && c.options[0] == null && "cadeau".equals(c.options[2].produit);
+        boolean okMap = Integer.valueOf(15).equals(c.notes.get("math")) && Integer.valueOf(18).equals(c.notes.get("info"));
+
+        // Index au-delà de la limite d'agrandissement: erreur de champ, aucune allocation
+        int previous = BeanBindingPlan.getAutoGrowLimit();
+        BeanBindingPlan.setAutoGrowLimit(10);
+        boolean okLimit = false;
+        try {
+            java.util.Map<String, Object> huge = new java.util.HashMap<>();
+            huge.put("lignes[100000].quantite", "1");
+            FormMapper.map(huge, Commande.class);
+        } catch (FormMapper.FormMappingException e) {
+            okLimit = e.getFieldErrors().containsKey("lignes[100000].quantite");
+        } finally {
+            BeanBindingPlan.setAutoGrowLimit(previous);
+        }
+
+        // Objet existant non créé par la liaison: chemin ignoré, ou erreur de champ s'il vient de la requête
+        java.util.Map<String, Object> shared = new java.util.LinkedHashMap<>();
+        shared.put("agence.nom", "Pwned");
+        boolean okShared = FormMapper.map(shared, Commande.class).agence == Agence.SIEGE;
+        shared.put("agence", "1");
+        try {
+            FormMapper.map(shared, Commande.class);
+            okShared = false;
+        } catch (FormMapper.FormMappingException e) {
+            okShared &= e.getFieldErrors().containsKey("agence.nom");
+        }
+        java.util.Map<String, Object> lieu = new java.util.LinkedHashMap<>();
+        lieu.put("lieu", "1");
+        lieu.put("lieu.ville", "x");
+        try {
+            FormMapper.map(lieu, EmployeDTO.class);
+            okShared = false;
+        } catch (FormMapper.FormMappingException e) {
+            okShared &= e.getFieldErrors().containsKey("lieu.ville");
+        }
+        okShared &= "Siège".equals(Agence.SIEGE.nom)
+                && "Paris".equals(ConversionService.getInstance().convert("1", Lieu.class).getVille());
+
+        System.out.println("Test chemins de propriétés: imbriqué=" + okNested + ", indexé=" + okIndexed + ", map=" + okMap
+                + ", limite=" + okLimit + ", partagé=" + okShared);
+    }
+
+    private static Object readJson(String json, Class<?> type) throws java.io.IOException {
+        java.io.InputStream in = new java.io.ByteArrayInputStream(json.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        return JsonBinder.read(in, java.nio.charset.StandardCharsets.UTF_8, type, type);
+    }
+
+    private static void testJsonBinder() {
+        try {
+            // Même plan que les formulaires: objet imbriqué, liste d'objets, Map, entité par identifiant
+            Commande c = (Commande) readJson("{\"employe\": {\"nom\": \"Al\\\"ice\", \"dept\": 1, \"age\": null},"
+                    + " \"lignes\": [{\"produit\": \"stylo\", \"quantite\": 3}, {\"quantite\": 2}],"
+                    + " \"notes\": {\"math\": 15}, \"ignoré\": [true, {\"x\": [null]}], \"options\": []}", Commande.class);
+            boolean okBind = "Al\"ice".equals(c.employe.getNom()) && c.employe.getDept().getId() == 1L
+                    && c.lignes.size() == 2 && c.lignes.get(0).quantite == 3 && "stylo".equals(c.lignes.get(0).produit)
+                    && Integer.valueOf(15).equals(c.notes.get("math")) && c.options.length == 0;
+            boolean okEmpty = readJson("  ", Commande.class) == null;
+
+            Object any = readJson("{\"a\": [1, 2.5, \"x\", false]}", Object.class);
+            boolean okAny = any.equals(java.util.Collections.singletonMap("a", java.util.Arrays.asList(1L, 2.5, "x", false)));
+
+            StringBuilder deep = new StringBuilder();
+            for (int i = 0; i <= JsonBinder.getMaxDepth(); i++) deep.append('[');
+            boolean okDepth = jsonRejected(deep.toString(), false);
+
+            int previousDepth = JsonBinder.getMaxDepth();
+            long previousBytes = JsonBinder.getMaxBytes();
+            JsonBinder.setLimits(previousDepth, 64);
+            boolean okSize;
+            try {
+                okSize = jsonRejected("{\"nom\": \"" + "x".repeat(10000) + "\"}", true);
+            } finally {
+                JsonBinder.setLimits(previousDepth, previousBytes);
+            }
+            boolean okMalformed = jsonRejected("{\"a\" 1}", false) && jsonRejected("{} {}", false);
+
+            System.out.println("Test corps JSON: liaison=" + okBind + ", vide=" + okEmpty + ", libre=" + okAny
+                    + ", profondeur=" + okDepth + ", taille=" + okSize + ", invalide=" + okMalformed);
+        } catch (Exception e) {
+            System.out.println("Test corps JSON: false (" + e + ")");
+        }
+    }
+
+    private static void testBeanValidator() {
+        BeanValidator validator = BeanValidator.of(UserForm.class);
+        boolean okPlan = validator == BeanValidator.of(UserForm.class) && validator.hasConstraints()
+                && !BeanValidator.of(Commande.class).hasConstraints();
+
+        UserForm valid = new UserForm();
+        valid.setUsername("alice");
+        valid.setEmail("alice@example.com");
+        valid.setPassword("secret1");
+        boolean okValid = valid.isValid() && valid.getLastValidationResult().getFieldErrors().isEmpty();
+
+        // Une erreur par champ: la première contrainte violée
+        UserForm invalid = new UserForm();
+        invalid.setUsername("  ");
+        invalid.setEmail("alice@example");
+        invalid.setPassword("abc");
+        ValidationResult all = new ValidationResult();
+        boolean okAll = !validator.validate(invalid, all, false)
+                && "Username is required".equals(all.getFieldErrors().get("username"))
+                && "Email format is invalid".equals(all.getFieldErrors().get("email"))
+                && "Password must be at least 6 characters".equals(all.getFieldErrors().get("password"))
+                && !invalid.isValid() && invalid.getLastValidationResult().getFieldErrors().size() == 3;
+
+        UserForm empty = new UserForm();
+        ValidationResult missing = new ValidationResult();
+        validator.validate(empty, missing, false);
+        boolean okMissing = "Email is required".equals(missing.getFieldErrors().get("email"))
+                && "Password is required".equals(missing.getFieldErrors().get("password"));
+
+        ValidationResult first = new ValidationResult();
+        boolean okFailFast = !validator.validate(invalid, first, true) && first.getFieldErrors().size() == 1;
+
+        System.out.println("Test validation: plan=" + okPlan + ", valide=" + okValid + ", erreurs=" + okAll
+                + ", absents=" + okMissing + ", fail-fast=" + okFailFast);
+    }
+
+    private static boolean jsonRejected(String json, boolean tooLarge) throws java.io.IOException {
+        try {
+            readJson(json, Object.class);
+            return false;
+        } catch (JsonReader.JsonException e) {
+            return e.isTooLarge() == tooLarge;
+        }
+    }
+
     private static void testBindingSimulation() {
         ConversionService cs = ConversionService.getInstance();
 
@@ -55,4 +440,65 @@ public class ConversionTests {
 
         System.out.println("Test binding simulation: " + ok);
     }
+
+    private static void testEntityCache() {
+        ConversionService cs = ConversionService.getInstance();
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(8);
+        try {
+            // 8 liaisons simultanées du même identifiant: un seul appel de fromId
+            List<java.util.concurrent.Future<Region>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cs.convert("IDF", Region.class)));
+            }
+            Region first = results.get(0).get();
+            boolean okBatch = true;
+            for (java.util.concurrent.Future<Region> f : results) {
+                okBatch &= f.get() == first;
+            }
+            okBatch &= Region.LOOKUPS.get() == 1 && cs.convert("IDF", Region.class) == first;
+
+            EntityLookupCache cache = ConversionService.getEntityCache(Region.class);
+            cs.convert("BRE", Region.class);
+            cs.convert("OCC", Region.class);
+            boolean okBounded = cache.size() == 2;
+
+            // Identifiant inconnu: le null est mémorisé aussi (puis la conversion échoue comme avant)
+            int before = Region.LOOKUPS.get();
+            for (int i = 0; i < 2; i++) {
+                try {
+                    cs.convert("inconnue", Region.class);
+                } catch (IllegalArgumentException expected) {
+                    // No converter found
+                }
+            }
+            boolean okNull = Region.LOOKUPS.get() == before + 1;
+
+            ConversionService.invalidateEntity(Region.class, "inconnue");
+            ConversionService.invalidateEntities(Region.class);
+            boolean okInvalidate = cache.size() == 0 && ConversionService.getEntityCache(EmployeDTO.class) == null;
+
+            // Type modifiable (setters publics): instance partagée interdite, annotation ignorée
+            boolean okMutable = ConversionService.getEntityCache(MutableRegion.class) == null
+                    && cs.convert("IDF", MutableRegion.class) != cs.convert("IDF", MutableRegion.class);
+
+            // Invalidation pendant un chargement lent: la valeur chargée n'est pas mémorisée
+            // et un appel postérieur à l'invalidation ne reçoit pas cette valeur (nouveau chargement)
+            java.util.concurrent.Future<Region> slow = pool.submit(() -> cs.convert("NOR", Region.class));
+            Thread.sleep(10);
+            ConversionService.invalidateEntity(Region.class, "NOR");
+            boolean okStale = slow.get() != null && cache.size() == 0;
+            slow = pool.submit(() -> cs.convert("NOR", Region.class));
+            Thread.sleep(10);
+            ConversionService.invalidateEntity(Region.class, "NOR");
+            Region fresh = cs.convert("NOR", Region.class);
+            okStale &= fresh != slow.get() && cs.convert("NOR", Region.class) == fresh;
+
+            System.out.println("Test cache d'entités: regroupement=" + okBatch + ", borné=" + okBounded + ", null=" + okNull
+                    + ", invalidation=" + okInvalidate + ", modifiable=" + okMutable + ", chargement périmé=" + okStale);
+        } catch (Exception e) {
+            System.out.println("Test cache d'entités: false (" + e + ")");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package testFramework.com.testframework;
+
+import framework.utilitaire.MethodInvoker;
+import framework.utilitaire.RouteInvoker;
+import framework.utilitaire.RouteInvokers;
+
+import java.lang.reflect.Method;
+
+/**
+ * Comparaison des chemins d'appel d'une méthode contrôleur:
+ * Method.invoke (ancien dispatch), MethodInvoker.execute (recherche par nom),
+ * invoker pré-lié des routes (RouteInvokers, LambdaMetafactory) et lambda directe (table générée).
+ * Mesure indicative (boucles nanoTime, pas JMH): un appel inlinable peut être presque entièrement éliminé par le JIT.
+ * Usage: java testFramework.com.testframework.InvokerBenchmark [itérations]
+ */
+public class InvokerBenchmark {
+
+    public static class Target {
+        private int calls;
+
+        public Integer add(int a, Integer b) {
+            calls++;
+            return a + b;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        Method method = Target.class.getMethod("add", int.class, Integer.class);
+        RouteInvoker prebound = RouteInvokers.of(method);
+        RouteInvoker lambda = (c, a) -> ((Target) c).add((int) a[0], (Integer) a[1]);
+        Class<?>[] types = {int.class, Integer.class};
+
+        Target target = new Target();
+        Object[] callArgs = {1, 2};
+
+        // Préchauffage (compilation JIT de chaque boucle)
+        for (int round = 0; round < 3; round++) {
+            reflective(method, target, callArgs, iterations / 5);
+            byName(types, target, callArgs, iterations / 5);
+            invoker(prebound, target, callArgs, iterations / 5);
+            invoker(lambda, target, callArgs, iterations / 5);
+        }
+
+        System.out.println("Appels par chemin: " + iterations);
+        System.out.printf("Method.invoke           : %6.1f ns/appel%n", reflective(method, target, callArgs, iterations));
+        System.out.printf("MethodInvoker.execute   : %6.1f ns/appel%n", byName(types, target, callArgs, iterations));
+        System.out.printf("RouteInvokers           : %6.1f ns/appel%n", invoker(prebound, target, callArgs, iterations));
+        System.out.printf("Lambda directe (générée): %6.1f ns/appel%n", invoker(lambda, target, callArgs, iterations));
+        System.out.println("(appels effectués: " + target.calls + ")");
+    }
+
+    // Une boucle par chemin: chaque site d'appel reste monomorphe
+
+    private static double reflective(Method method, Target target, Object[] args, int iterations) throws Exception {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sum += (Integer) method.invoke(target, args);
+        }
+        return result(sum, start, iterations);
+    }
+
+    private static double byName(Class<?>[] types, Target target, Object[] args, int iterations) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sum += (Integer) MethodInvoker.execute(target, "add", types, args);
+        }
+        return result(sum, start, iterations);
+    }
+
+    private static double invoker(RouteInvoker invoker, Target target, Object[] args, int iterations) throws Exception {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sum += (Integer) invoker.invoke(target, args);
+        }
+        return result(sum, start, iterations);
+    }
+
+    private static double result(long sum, long start, int iterations) {
+        long elapsed = System.nanoTime() - start;
+        if (sum != 3L * iterations) {
+            throw new IllegalStateException("Résultat inattendu: " + sum);
+        }
+        return (double) elapsed / iterations;
+    }
+}
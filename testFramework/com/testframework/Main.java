@@ -26,6 +26,9 @@ public class Main {
             // Test same URL with GET and POST
             testUrlWithMethod("/admin/echo", "GET");
             testUrlWithMethod("/admin/echo", "POST");
+            // Test d'une URL à variable (trie de segments)
+            testUrlWithMethod("/produits/42", "GET");
+            testUrlWithMethod("/produits/42", "POST");
         
         // Test avec une URL non existante
         testUrl("/nonexistent");
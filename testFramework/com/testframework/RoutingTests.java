@@ -0,0 +1,771 @@
+package testFramework.com.testframework;
+
+import framework.annotation.Controller;
+import framework.annotation.ModelAttribute;
+import framework.annotation.PostMapping;
+import framework.annotation.RequestParam;
+import framework.annotation.RouteProcessor;
+import framework.annotation.Scope;
+import framework.http.MultipartFile;
+import framework.servlet.ArgumentResolvers;
+import framework.servlet.MissingArgumentException;
+import framework.servlet.ValidationException;
+import framework.utilitaire.ClassFileInspector;
+import framework.utilitaire.ClassScanner;
+import framework.utilitaire.ControllerProvider;
+import framework.utilitaire.ETags;
+import framework.utilitaire.ConventionRouteTable;
+import framework.utilitaire.RequestCoalescer;
+import framework.utilitaire.ResponseCache;
+import framework.utilitaire.RouteDefinition;
+import framework.utilitaire.RouteIndex;
+import framework.utilitaire.RouteInvokers;
+import framework.utilitaire.RouteMatch;
+import framework.utilitaire.RouteTable;
+import framework.utilitaire.RouteTrie;
+import framework.utilitaire.UrlMappingRegistry;
+import testFramework.com.testframework.admin.AdminController;
+import testFramework.com.testframework.controller.AuthController;
+import testFramework.com.testframework.controller.ProduitController;
+import testFramework.com.testframework.model.UploadForm;
+import testFramework.com.testframework.model.UserForm;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+public class RoutingTests {
+
+    public static void main(String[] args) {
+        testStaticBeforeVariable();
+        testPathVariables();
+        testPartialSegment();
+        testMethodNotAllowed();
+        testVariableNamesPerMethod();
+        testNoMatch();
+        testRegistryDescriptors();
+        testRouteIndex();
+        testClassFilePrefilter();
+        testDuplicateRoots();
+        testGeneratedRouteTable();
+        testRouteInvokers();
+        testControllerScopes();
+        testConventionNegativeCache();
+        testResponseCache();
+        testETags();
+        testRequestCoalescer();
+        testErrorPages();
+        testMultipartIndex();
+        testValidationError();
+    }
+
+    private static void testStaticBeforeVariable() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/produits/{id}/detail", "GET", "variable");
+        trie.insert("/produits/top/detail", "GET", "static");
+        RouteTrie.Lookup<String> l = trie.find("/produits/top/detail", "GET");
+        System.out.println("Test statique avant variable: " + "static".equals(l.getHandler()));
+    }
+
+    private static void testPathVariables() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/dept/{deptId}/employes/{empId}", "GET", "emp");
+        RouteTrie.Lookup<String> l = trie.find("/dept/3/employes/42", "GET");
+        boolean ok = l.isFound() && l.getValueCount() == 2
+                && "3".equals(l.getValue(0)) && "42".equals(l.getValue(1));
+        System.out.println("Test variables de chemin: " + ok);
+    }
+
+    private static void testPartialSegment() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/export/{id}.json", "GET", "json");
+        RouteTrie.Lookup<String> l = trie.find("/export/7.json", "GET");
+        boolean ok = l.isFound() && "7".equals(l.getValue(0))
+                && !trie.find("/export/.json", "GET").isFound();
+        System.out.println("Test segment partiel: " + ok);
+    }
+
+    private static void testMethodNotAllowed() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/items/{id}", "GET", "get");
+        trie.insert("/items/{code}", "POST", "post");
+        trie.insert("/{section}/{id}", "PUT", "put");
+        RouteTrie.Lookup<String> l = trie.find("/items/5", "DELETE");
+        boolean ok = l.isMethodNotAllowed()
+                && l.getAllowedMethods().contains("GET")
+                && l.getAllowedMethods().contains("POST")
+                && l.getAllowedMethods().contains("PUT");
+        boolean fallback = "put".equals(trie.find("/items/5", "PUT").getHandler());
+        System.out.println("Test 405: " + ok + ", repli sur template moins spécifique: " + fallback);
+    }
+
+    private static void testVariableNamesPerMethod() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/items/{id}", "GET", "get");
+        trie.insert("/items/{code}", "POST", "post");
+        RouteTrie.Lookup<String> get = trie.find("/items/5", "GET");
+        RouteTrie.Lookup<String> post = trie.find("/items/5", "POST");
+        boolean ok = "id".equals(get.getVariableNames()[0]) && "/items/{id}".equals(get.getTemplate())
+                && "code".equals(post.getVariableNames()[0]) && "/items/{code}".equals(post.getTemplate())
+                && "5".equals(post.getValue(0)) && post.getValueCount() == 1;
+        System.out.println("Test noms de variables par méthode: " + ok);
+    }
+
+    private static void testNoMatch() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/produits/{id}", "GET", "detail");
+        RouteTrie.Lookup<String> l1 = trie.find("/produits/5/", "GET");
+        RouteTrie.Lookup<String> l2 = trie.find("/produits", "GET");
+        System.out.println("Test aucun mapping: " + (!l1.isFound() && !l1.isMethodNotAllowed() && !l2.isFound()));
+    }
+
+    private static void testRegistryDescriptors() {
+        UrlMappingRegistry registry = new UrlMappingRegistry();
+        registry.buildRegistry(Arrays.asList(ProduitController.class, AdminController.class, AuthController.class));
+
+        RouteMatch produit = registry.match("/produits/7", "GET");
+        boolean okTemplate = produit.isFound() && "7".equals(produit.getPathValue("id"))
+                && produit.getDescriptor().getParameter(0).getPathVariableIndex() == 0;
+
+        // Les URLs exactes réutilisent le même résultat pré-alloué
+        boolean okStatic = registry.match("/admin/settings", "GET") == registry.match("/admin/settings", "GET");
+
+        boolean okAuth = "admin".equals(registry.match("/auth/admin", "GET").getDescriptor().getRequiredRole())
+                && !registry.match("/auth/login", "GET").getDescriptor().isAuthRequired();
+
+        RouteMatch notAllowed = registry.match("/admin/echo", "DELETE");
+        boolean ok405 = notAllowed.isMethodNotAllowed() && "GET, POST".equals(notAllowed.getAllowHeader());
+
+        System.out.println("Test descripteurs: template=" + okTemplate + ", statique=" + okStatic
+                + ", auth=" + okAuth + ", 405=" + ok405);
+    }
+
+    private static void testRouteIndex() {
+        try {
+            String pkg = "testFramework.com.testframework";
+            ClassScanner scanner = new ClassScanner();
+            List<ClassScanner.ClassFile> files = scanner.scanClassFiles(pkg, null);
+
+            Map<String, List<RouteDefinition>> routes = new LinkedHashMap<>();
+            routes.put(ProduitController.class.getName(), UrlMappingRegistry.collectRoutes(ProduitController.class));
+
+            Path file = Files.createTempFile("routes", ".idx");
+            RouteIndex.of(pkg, files, routes).write(file);
+            RouteIndex index = RouteIndex.read(file, pkg);
+
+            // Deuxième scan avec l'index: aucun fichier relu, mêmes verdicts
+            List<ClassScanner.ClassFile> again = scanner.scanClassFiles(pkg, index);
+            boolean okReuse = again.stream().noneMatch(ClassScanner.ClassFile::isInspected)
+                    && RouteIndex.fingerprint(again) == index.getFingerprint();
+
+            List<RouteDefinition> resolved = index.resolve(ProduitController.class.getName(),
+                    ClassScanner.defaultClassLoader());
+            boolean okResolve = resolved != null
+                    && resolved.size() == routes.get(ProduitController.class.getName()).size()
+                    && resolved.get(0).getMethod().getDeclaringClass() == ProduitController.class;
+
+            boolean okOtherPackage = RouteIndex.read(file, "autre.pkg") == null;
+            Files.deleteIfExists(file);
+
+            System.out.println("Test index de routes: réutilisation=" + okReuse + ", résolution=" + okResolve
+                    + ", autre package=" + okOtherPackage);
+        } catch (Exception e) {
+            System.out.println("Test index de routes: false (" + e.getMessage() + ")");
+        }
+    }
+
+    /** Contrôleur sans méthode mappée: écarté par le pré-filtre, jamais chargé */
+    @Controller
+    public static class UnmappedController {
+        public String helper() {
+            return "helper";
+        }
+    }
+
+    private static void testClassFilePrefilter() {
+        try {
+            ClassFileInspector.Summary produit = ClassFileInspector.inspect(bytecode(ProduitController.class));
+            ClassFileInspector.Summary unmapped = ClassFileInspector.inspect(bytecode(UnmappedController.class));
+            ClassFileInspector.Summary upload = ClassFileInspector.inspect(bytecode(UploadTarget.class));
+            boolean okInspect = produit != null && produit.isController() && produit.hasMappedMethods()
+                    && unmapped != null && unmapped.isController() && !unmapped.hasMappedMethods()
+                    && upload != null && !upload.isController() && upload.hasMappedMethods();
+
+            Map<String, String> verdicts = new java.util.HashMap<>();
+            for (ClassScanner.ClassFile f : new ClassScanner().scanClassFiles("testFramework.com.testframework", null)) {
+                verdicts.put(f.getName(), f.getControllerName());
+            }
+            boolean okScan = ProduitController.class.getName().equals(verdicts.get(ProduitController.class.getName()))
+                    && verdicts.containsKey(UnmappedController.class.getName())
+                    && verdicts.get(UnmappedController.class.getName()) == null
+                    && verdicts.get(UploadTarget.class.getName()) == null;
+            System.out.println("Test pré-filtre bytecode: lecture=" + okInspect + ", non chargés=" + okScan);
+        } catch (Exception e) {
+            System.out.println("Test pré-filtre bytecode: false (" + e + ")");
+        }
+    }
+
+    private static byte[] bytecode(Class<?> c) throws java.io.IOException {
+        String resource = c.getName().replace('.', '/') + ".class";
+        try (java.io.InputStream in = RoutingTests.class.getClassLoader().getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void testDuplicateRoots() {
+        // Même contrôleur dans le répertoire de classes et dans un jar (WEB-INF/classes + WEB-INF/lib)
+        String entry = ProduitController.class.getName().replace('.', '/') + ".class";
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try {
+            Path jar = Files.createTempFile("controllers", ".jar");
+            try (java.util.jar.JarOutputStream out = new java.util.jar.JarOutputStream(Files.newOutputStream(jar));
+                 java.io.InputStream in = RoutingTests.class.getClassLoader().getResourceAsStream(entry)) {
+                // Entrées de répertoires: getResources(package) doit trouver le jar
+                for (int slash = entry.indexOf('/'); slash >= 0; slash = entry.indexOf('/', slash + 1)) {
+                    out.putNextEntry(new java.util.jar.JarEntry(entry.substring(0, slash + 1)));
+                }
+                out.putNextEntry(new java.util.jar.JarEntry(entry));
+                in.transferTo(out);
+            }
+            String pkg = ProduitController.class.getPackageName();
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()},
+                    RoutingTests.class.getClassLoader())) {
+                Thread.currentThread().setContextClassLoader(loader);
+                ClassScanner scanner = new ClassScanner();
+                List<ClassScanner.ClassFile> files = scanner.scanClassFiles(pkg, null);
+                long copies = files.stream().filter(f -> f.getName().equals(ProduitController.class.getName())).count();
+                List<Class<?>> classes = scanner.loadControllers(Arrays.asList(
+                        ProduitController.class.getName(), ProduitController.class.getName()));
+                System.out.println("Test racines multiples: fichier unique=" + (copies == 1)
+                        + ", classe unique=" + (classes.size() == 1));
+            } finally {
+                Thread.currentThread().setContextClassLoader(previous);
+                Files.deleteIfExists(jar);
+            }
+        } catch (Exception e) {
+            System.out.println("Test racines multiples: false (" + e + ")");
+        }
+    }
+
+    private static void testGeneratedRouteTable() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            System.out.println("Test table générée: ignoré (pas de compilateur)");
+            return;
+        }
+        try {
+            Path dir = Files.createTempDirectory("routetable");
+            Path src = dir.resolve("gen/demo/DemoController.java");
+            Files.createDirectories(src.getParent());
+            Files.write(src, Arrays.asList(
+                    "package gen.demo;",
+                    "import framework.annotation.*;",
+                    "@Controller @RequestMapping(\"/demo/\")",
+                    "public class DemoController {",
+                    "    @GetMapping(\"/{id}\") public String show(@PathVariable(\"id\") int id) { return \"demo\" + id; }",
+                    "    @Auth(\"admin\") @PostMapping(\"save\") public void save() { }",
+                    "}"));
+            int status = compiler.run(null, null, null, "-parameters",
+                    "-processor", RouteProcessor.class.getName(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-d", dir.toString(), src.toString());
+
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()},
+                    RoutingTests.class.getClassLoader())) {
+                List<RouteDefinition> routes = new ArrayList<>();
+                for (RouteTable table : ServiceLoader.load(RouteTable.class, loader)) {
+                    routes.addAll(table.routes());
+                }
+                UrlMappingRegistry registry = new UrlMappingRegistry();
+                registry.buildRoutes(routes);
+
+                RouteMatch show = registry.match("/demo/5", "GET");
+                boolean okRoutes = status == 0 && routes.size() == 2 && show.isFound()
+                        && "admin".equals(registry.match("/demo/save", "POST").getDescriptor().getRequiredRole());
+                Object controller = show.getDescriptor().getControllerClass().getDeclaredConstructor().newInstance();
+                boolean okInvoke = routes.get(0).getInvoker() != null
+                        && "demo5".equals(show.getDescriptor().invoke(controller, new Object[]{5}));
+                System.out.println("Test table générée: routes=" + okRoutes + ", invoker direct=" + okInvoke);
+            }
+        } catch (Exception e) {
+            System.out.println("Test table générée: false (" + e + ")");
+        }
+    }
+
+    public static class InvokerTarget {
+        int hits;
+        public String show(int id, Long page) { return id + "/" + page; }
+        public void touch() { hits++; }
+        public static String stat(String s) { return s.toUpperCase(); }
+        private String secret() { return "secret"; }
+        public int sum(int a, int b, int c, int d, int e) { return a + b + c + d + e; }
+        public String fail() { throw new IllegalStateException("boom"); }
+    }
+
+    private static void testRouteInvokers() {
+        try {
+            InvokerTarget t = new InvokerTarget();
+            Class<?> c = InvokerTarget.class;
+            boolean okLambda = "7/3".equals(RouteInvokers.of(c.getMethod("show", int.class, Long.class))
+                    .invoke(t, new Object[]{7, 3L}));
+            RouteInvokers.of(c.getMethod("touch")).invoke(t, new Object[0]);
+            boolean okVoid = t.hits == 1;
+            boolean okStatic = "AB".equals(RouteInvokers.of(c.getMethod("stat", String.class)).invoke(null, new Object[]{"ab"}));
+            boolean okPrivate = "secret".equals(RouteInvokers.of(c.getDeclaredMethod("secret")).invoke(t, new Object[0]));
+            boolean okArity = Integer.valueOf(15).equals(RouteInvokers.of(c.getMethod("sum", int.class, int.class,
+                    int.class, int.class, int.class)).invoke(t, new Object[]{1, 2, 3, 4, 5}));
+            boolean okError;
+            try {
+                RouteInvokers.of(c.getMethod("fail")).invoke(t, new Object[0]);
+                okError = false;
+            } catch (IllegalStateException e) {
+                okError = "boom".equals(e.getMessage());
+            }
+            // null pour un primitif: IllegalArgumentException comme Method.invoke, pas de NullPointerException
+            UrlMappingRegistry registry = new UrlMappingRegistry();
+            registry.buildRoutes(UrlMappingRegistry.collectRoutes(ProduitController.class));
+            boolean okNull;
+            try {
+                registry.match("/produits/1", "GET").getDescriptor().invoke(new ProduitController(), new Object[]{null});
+                okNull = false;
+            } catch (IllegalArgumentException e) {
+                okNull = true;
+            }
+            System.out.println("Test invokers: lambda=" + okLambda + ", void=" + okVoid + ", statique=" + okStatic
+                    + ", privée=" + okPrivate + ", 5 params=" + okArity + ", exception=" + okError
+                    + ", null primitif=" + okNull);
+        } catch (Exception e) {
+            System.out.println("Test invokers: false (" + e + ")");
+        }
+    }
+
+    public static class StatelessController {
+    }
+
+    public static class StatefulController {
+        int counter;
+    }
+
+    @Scope(value = Scope.Type.POOLED, poolSize = 2, acquireTimeout = 50)
+    public static class PooledController {
+    }
+
+    private static void testControllerScopes() {
+        try {
+            ControllerProvider stateless = ControllerProvider.of(StatelessController.class);
+            boolean okSingleton = stateless.getScope() == Scope.Type.SINGLETON
+                    && stateless.acquire() == stateless.acquire()
+                    && ControllerProvider.of(StatelessController.class) == stateless;
+
+            ControllerProvider stateful = ControllerProvider.of(StatefulController.class);
+            boolean okPrototype = stateful.getScope() == Scope.Type.PROTOTYPE && stateful.acquire() != stateful.acquire();
+
+            ControllerProvider pooled = ControllerProvider.of(PooledController.class);
+            Object a = pooled.acquire();
+            Object b = pooled.acquire();
+            pooled.release(a);
+            boolean okPool = a != b && pooled.acquire() == a;
+
+            // Les deux instances sont prises et jamais rendues: échec après acquireTimeout, pas d'attente infinie
+            boolean okTimeout;
+            try {
+                pooled.acquire();
+                okTimeout = false;
+            } catch (ControllerProvider.PoolExhaustedException e) {
+                okTimeout = true;
+            }
+
+            System.out.println("Test scopes: singleton=" + okSingleton + ", prototype=" + okPrototype + ", pool=" + okPool
+                    + ", délai=" + okTimeout);
+        } catch (Exception e) {
+            System.out.println("Test scopes: false (" + e + ")");
+        }
+    }
+
+    private static void testConventionNegativeCache() {
+        ConventionRouteTable table = new ConventionRouteTable("testFramework.com.testframework",
+                RoutingTests.class.getClassLoader(), 4);
+        ConventionRouteTable.Route dashboard = table.find("/admin/dashboard");
+        boolean okHit = dashboard != null && dashboard.getControllerClass() == AdminController.class
+                && table.find("/admin/inconnue") == null && table.find("/admin/toString") == null
+                // Méthode avec paramètres (mappée en POST): jamais exposée par la convention
+                && table.find("/admin/echoPost") == null;
+
+        // Sections inexistantes: cache négatif borné, aucune exception
+        for (int i = 0; i < 10; i++) {
+            table.find("/robot" + i + "/wp-login");
+        }
+        boolean okBounded = table.find("/wp-admin.php/x") == null && table.getNegativeCacheSize() == 4;
+
+        System.out.println("Test conventions: route=" + okHit + ", cache négatif borné=" + okBounded);
+    }
+
+    private static void testResponseCache() {
+        // Entrées d'environ 430 octets: sous le huitième de la capacité, 8 entrées au plus
+        ResponseCache cache = new ResponseCache(3 * 1200);
+        byte[] body = new byte[300];
+        String k1 = ResponseCache.key("/produits/{id}", "1");
+        String k2 = ResponseCache.key("/produits/{id}", "2");
+        cache.put("/produits/{id}", k1, "text/html", body, 60_000);
+        cache.put("/produits/{id}", k2, "text/html", body, 60_000);
+        boolean okHit = cache.get(k1) != null && cache.get(ResponseCache.key("/produits/{id}", "3")) == null
+                && cache.getHitCount() == 1 && cache.getMissCount() == 1;
+
+        // k1 vient d'être lu: k2 est la moins récemment utilisée
+        for (int i = 3; i <= 10; i++) {
+            cache.put("/api/liste", ResponseCache.key("/api/liste", String.valueOf(i)), "application/json", body, 60_000);
+        }
+        boolean okBounded = cache.getWeightedSize() <= 3 * 1200 && cache.getEvictionCount() > 0 && cache.get(k2) == null;
+
+        cache.put("/produits/{id}", k1, "text/html", body, 1);
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean okTtl = cache.get(k1) == null;
+
+        cache.put("/produits/{id}", k1, "text/html", body, 60_000);
+        cache.put("/produits/{id}", k2, "text/html", body, 60_000);
+        boolean okInvalidate = cache.invalidate("/produits/{id}", "1") && cache.get(k1) == null
+                && cache.invalidate("/produits/{id}") == 1 && cache.get(k2) == null;
+
+        // Lectures simultanées sans verrou: toutes comptées, poids inchangé
+        cache.put("/produits/{id}", k1, "text/html", body, 60_000);
+        long hitsBefore = cache.getHitCount();
+        long weightBefore = cache.getWeightedSize();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) cache.get(k1);
+            });
+            readers[t].start();
+        }
+        for (Thread reader : readers) {
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean okConcurrent = cache.getHitCount() - hitsBefore == 40_000 && cache.getWeightedSize() == weightBefore;
+
+        // Évictions pendant des lectures: le tri ne doit jamais échouer dans put()
+        ResponseCache busy = new ResponseCache(200_000);
+        java.util.concurrent.atomic.AtomicBoolean writing = new java.util.concurrent.atomic.AtomicBoolean(true);
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                java.util.concurrent.ThreadLocalRandom random = java.util.concurrent.ThreadLocalRandom.current();
+                while (writing.get()) busy.get(ResponseCache.key("/api/liste", String.valueOf(random.nextInt(5000))));
+            });
+            readers[t].start();
+        }
+        boolean okEviction = true;
+        try {
+            for (int i = 0; i < 5000; i++) {
+                busy.put("/api/liste", ResponseCache.key("/api/liste", String.valueOf(i)), "application/json", body, 60_000);
+            }
+        } catch (RuntimeException e) {
+            okEviction = false;
+        } finally {
+            writing.set(false);
+        }
+        for (Thread reader : readers) {
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        okEviction &= busy.getEvictionCount() > 0 && busy.getWeightedSize() <= 200_000;
+
+        System.out.println("Test cache de réponses: hit=" + okHit + ", borné=" + okBounded + ", ttl=" + okTtl
+                + ", invalidation=" + okInvalidate + ", lectures concurrentes=" + okConcurrent + ", éviction concurrente=" + okEviction);
+    }
+
+    private static void testETags() {
+        byte[] a = "{\"id\":1}".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        byte[] b = "{\"id\":2}".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        String etag = ETags.of(a);
+        boolean okHash = etag.equals(ETags.of(a.clone())) && !etag.equals(ETags.of(b)) && etag.length() == 18;
+
+        boolean okMatch = ETags.matches(etag, etag) && ETags.matches("\"x\", W/" + etag, etag)
+                && ETags.matches("*", etag) && !ETags.matches("\"x\"", etag) && !ETags.matches(null, etag);
+
+        boolean okVersion = ETags.ofVersion("12, \"3\"").equals("\"v12___3_\"");
+
+        System.out.println("Test ETag: hachage=" + okHash + ", If-None-Match=" + okMatch + ", version=" + okVersion);
+    }
+
+    private static void testRequestCoalescer() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        java.util.concurrent.CountDownLatch started = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.atomic.AtomicInteger calls = new java.util.concurrent.atomic.AtomicInteger();
+        RequestCoalescer.Task<String> slow = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "produit-42";
+        };
+
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(8);
+        try {
+            // Le meneur démarre, puis 7 requêtes identiques arrivent pendant son exécution
+            List<java.util.concurrent.Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> coalescer.execute("/produits/{id}|42", 5000, slow)));
+            started.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> coalescer.execute("/produits/{id}|42", 5000, slow)));
+            }
+            // Laisser les suivantes se mettre en attente sur le meneur
+            Thread.sleep(200);
+            release.countDown();
+            boolean okShared = true;
+            for (java.util.concurrent.Future<String> f : results) {
+                okShared &= "produit-42".equals(f.get());
+            }
+            okShared &= calls.get() == 1 && coalescer.getCoalescedCount() == 7 && coalescer.getInFlightCount() == 0;
+
+            // Exception du meneur propagée à l'appelant
+            boolean okError;
+            try {
+                coalescer.execute("erreur", 1000, () -> { throw new IllegalStateException("panne"); });
+                okError = false;
+            } catch (IllegalStateException e) {
+                okError = "panne".equals(e.getMessage()) && coalescer.getInFlightCount() == 0;
+            }
+
+            // Attente bornée: au-delà du délai, exécution par l'appelant lui-même
+            java.util.concurrent.CountDownLatch blocked = new java.util.concurrent.CountDownLatch(1);
+            java.util.concurrent.CountDownLatch running = new java.util.concurrent.CountDownLatch(1);
+            pool.submit(() -> coalescer.execute("lent", 5000, () -> { running.countDown(); blocked.await(); return "meneur"; }));
+            running.await();
+            boolean okTimeout = "moi".equals(coalescer.execute("lent", 20, () -> "moi")) && coalescer.getTimeoutCount() == 1;
+            blocked.countDown();
+
+            System.out.println("Test single flight: partage=" + okShared + ", erreur=" + okError + ", délai=" + okTimeout);
+        } catch (Exception e) {
+            System.out.println("Test single flight: false (" + e + ")");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Réponse simulée: statut, type, longueur et octets écrits */
+    private static final class RecordedResponse {
+        int status;
+        String contentType;
+        int contentLength = -1;
+        final Map<String, String> headers = new LinkedHashMap<>();
+        final java.io.ByteArrayOutputStream body = new java.io.ByteArrayOutputStream();
+
+        jakarta.servlet.http.HttpServletResponse proxy() {
+            jakarta.servlet.ServletOutputStream out = new jakarta.servlet.ServletOutputStream() {
+                @Override public void write(int b) { body.write(b); }
+                @Override public void write(byte[] b, int off, int len) { body.write(b, off, len); }
+                @Override public boolean isReady() { return true; }
+                @Override public void setWriteListener(jakarta.servlet.WriteListener listener) { }
+            };
+            return (jakarta.servlet.http.HttpServletResponse) java.lang.reflect.Proxy.newProxyInstance(
+                    RoutingTests.class.getClassLoader(), new Class<?>[]{jakarta.servlet.http.HttpServletResponse.class},
+                    (p, m, a) -> {
+                        switch (m.getName()) {
+                            case "setStatus": status = (Integer) a[0]; return null;
+                            case "setContentType": contentType = (String) a[0]; return null;
+                            case "setContentLength": contentLength = (Integer) a[0]; return null;
+                            case "setHeader": headers.put((String) a[0], (String) a[1]); return null;
+                            case "getOutputStream": return out;
+                            default: return null;
+                        }
+                    });
+        }
+
+        boolean hasBody(byte[] expected) {
+            return Arrays.equals(body.toByteArray(), expected) && contentLength == expected.length;
+        }
+    }
+
+    private static jakarta.servlet.http.HttpServletRequest errorRequest(String method) {
+        return (jakarta.servlet.http.HttpServletRequest) java.lang.reflect.Proxy.newProxyInstance(
+                RoutingTests.class.getClassLoader(), new Class<?>[]{jakarta.servlet.http.HttpServletRequest.class},
+                (p, m, a) -> {
+                    switch (m.getName()) {
+                        case "getMethod": return method;
+                        case "getContextPath": return "/app";
+                        default: return null;
+                    }
+                });
+    }
+
+    private static void testErrorPages() {
+        try {
+            java.nio.charset.Charset utf8 = java.nio.charset.StandardCharsets.UTF_8;
+            framework.servlet.ErrorPages pages = new framework.servlet.ErrorPages(null);
+
+            // Texte brut: accents, caractère hors BMP (paire de surrogates), surrogate isolé remplacé par '?'
+            String message = "Paramètre manquant: é \uD83D\uDE00 \uD800 fin";
+            RecordedResponse r = new RecordedResponse();
+            pages.badRequest(errorRequest("GET"), r.proxy(), "/x", message);
+            boolean okUtf8 = r.status == 400 && r.contentType.startsWith("text/plain")
+                    && r.hasBody((message + "\n").getBytes(utf8));
+
+            // Message plus long que le tampon initial puis que le seuil de conservation, puis de nouveau court
+            String longMessage = "é".repeat(20000);
+            RecordedResponse big = new RecordedResponse();
+            pages.badRequest(errorRequest("GET"), big.proxy(), "/x", longMessage);
+            RecordedResponse small = new RecordedResponse();
+            pages.badRequest(errorRequest("GET"), small.proxy(), "/x", "court");
+            boolean okGrowth = big.hasBody((longMessage + "\n").getBytes(utf8)) && small.hasBody("court\n".getBytes(utf8));
+
+            // HTML: variables échappées, parties fixes intactes
+            RecordedResponse html = new RecordedResponse();
+            pages.methodNotAllowed(errorRequest("DELETE"), html.proxy(), "/a<b>&\"'", "GET, POST");
+            String page = html.body.toString(utf8);
+            boolean okEscape = html.status == 405 && "GET, POST".equals(html.headers.get("Allow"))
+                    && page.contains("<code>/a&lt;b&gt;&amp;&quot;&#39;</code>") && !page.contains("<b>")
+                    && page.contains("<strong>DELETE</strong>") && page.contains("href='/app'")
+                    && html.contentLength == page.getBytes(utf8).length;
+
+            RecordedResponse notFound = new RecordedResponse();
+            pages.notFound(errorRequest("GET"), notFound.proxy(), "/absent");
+            boolean okConstant = notFound.status == 404 && notFound.contentLength > 0
+                    && notFound.body.toString(utf8).contains("404 - Ressource non trouvée");
+
+            System.out.println("Test pages d'erreur: utf-8=" + okUtf8 + ", tampon=" + okGrowth
+                    + ", échappement=" + okEscape + ", 404=" + okConstant);
+        } catch (Exception e) {
+            System.out.println("Test pages d'erreur: false (" + e + ")");
+        }
+    }
+
+    // Sans @Controller: routes lues par collectRoutes, absentes du scan de l'application de test
+    public static class UploadTarget {
+        @PostMapping("/upload")
+        public String upload(@RequestParam("title") String title, @RequestParam("tag") String[] tags,
+                             @RequestParam("file") MultipartFile file,
+                             @RequestParam(value = "vide", required = false) MultipartFile empty,
+                             @ModelAttribute UploadForm form) {
+            return title;
+        }
+    }
+
+    /** Part simulée: champ texte (fileName null) ou fichier */
+    private static jakarta.servlet.http.Part part(String name, String fileName, String content) {
+        byte[] bytes = content.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        return (jakarta.servlet.http.Part) java.lang.reflect.Proxy.newProxyInstance(
+                RoutingTests.class.getClassLoader(), new Class<?>[]{jakarta.servlet.http.Part.class},
+                (p, m, a) -> {
+                    switch (m.getName()) {
+                        case "getName": return name;
+                        case "getSubmittedFileName": return fileName;
+                        case "getContentType": return fileName == null ? null : "text/plain";
+                        case "getSize": return (long) bytes.length;
+                        case "getInputStream": return new java.io.ByteArrayInputStream(bytes);
+                        default: return null;
+                    }
+                });
+    }
+
+    private static void testMultipartIndex() {
+        try {
+            List<jakarta.servlet.http.Part> parts = Arrays.asList(
+                    part("title", null, "Rapport"),
+                    part("tag", null, "b"),
+                    part("file", "premier.txt", "abc"),
+                    part("tag", null, "a, c"),
+                    part("file", "second.txt", "defg"),
+                    part("vide", "vide.txt", ""),
+                    part("tag", null, "d"));
+            int[] getParts = new int[1];
+            Map<String, Object> attributes = new java.util.HashMap<>();
+            jakarta.servlet.http.HttpServletRequest req = (jakarta.servlet.http.HttpServletRequest) java.lang.reflect.Proxy.newProxyInstance(
+                    RoutingTests.class.getClassLoader(), new Class<?>[]{jakarta.servlet.http.HttpServletRequest.class},
+                    (p, m, a) -> {
+                        switch (m.getName()) {
+                            case "getMethod": return "POST";
+                            case "getContentType": return "multipart/form-data; boundary=xyz";
+                            case "getParts": getParts[0]++; return parts;
+                            case "getAttribute": return attributes.get((String) a[0]);
+                            case "setAttribute": attributes.put((String) a[0], a[1]); return null;
+                            case "removeAttribute": attributes.remove((String) a[0]); return null;
+                            default: return null;
+                        }
+                    });
+
+            UrlMappingRegistry registry = new UrlMappingRegistry();
+            registry.buildRoutes(UrlMappingRegistry.collectRoutes(UploadTarget.class));
+            RouteMatch match = registry.match("/upload", "POST");
+            Object[] args = ArgumentResolvers.resolve(ArgumentResolvers.forRoute(match.getDescriptor()), req, null, match);
+
+            // Cinq lectures (@RequestParam et @ModelAttribute): getParts() une seule fois
+            boolean okOnce = getParts[0] == 1;
+            boolean okOrder = "Rapport".equals(args[0])
+                    && Arrays.equals((String[]) args[1], new String[]{"b", "a, c", "d"});
+            MultipartFile file = (MultipartFile) args[2];
+            UploadForm form = (UploadForm) args[4];
+            boolean okFiles = file != null && "premier.txt".equals(file.getOriginalFilename()) && file.getSize() == 3
+                    && args[3] == null && form.getFile() == file && "Rapport".equals(form.getTitle());
+            System.out.println("Test index multipart: getParts unique=" + okOnce + ", ordre=" + okOrder
+                    + ", premier fichier=" + okFiles);
+        } catch (Exception e) {
+            System.out.println("Test index multipart: false (" + e + ")");
+        }
+    }
+
+    public static class RegisterTarget {
+        @PostMapping("/register")
+        public String register(@ModelAttribute UserForm form) {
+            return form.getUsername();
+        }
+    }
+
+    private static void testValidationError() {
+        try {
+            Map<String, String[]> params = new LinkedHashMap<>();
+            params.put("username", new String[]{"al"});
+            params.put("email", new String[]{"invalide"});
+            Map<String, Object> attributes = new java.util.HashMap<>();
+            jakarta.servlet.http.HttpServletRequest req = (jakarta.servlet.http.HttpServletRequest) java.lang.reflect.Proxy.newProxyInstance(
+                    RoutingTests.class.getClassLoader(), new Class<?>[]{jakarta.servlet.http.HttpServletRequest.class},
+                    (p, m, a) -> {
+                        switch (m.getName()) {
+                            case "getMethod": return "POST";
+                            case "getParameterMap": return params;
+                            case "getParameter": return params.containsKey((String) a[0]) ? params.get((String) a[0])[0] : null;
+                            case "getParameterValues": return params.get((String) a[0]);
+                            case "getAttribute": return attributes.get((String) a[0]);
+                            case "setAttribute": attributes.put((String) a[0], a[1]); return null;
+                            default: return null;
+                        }
+                    });
+
+            UrlMappingRegistry registry = new UrlMappingRegistry();
+            registry.buildRoutes(UrlMappingRegistry.collectRoutes(RegisterTarget.class));
+            RouteMatch match = registry.match("/register", "POST");
+            // Objet invalide sans ValidationResult: erreur de validation (400), pas un paramètre manquant
+            boolean okError;
+            try {
+                ArgumentResolvers.resolve(ArgumentResolvers.forRoute(match.getDescriptor()), req, null, match);
+                okError = false;
+            } catch (ValidationException e) {
+                okError = !MissingArgumentException.class.isInstance(e)
+                        && e.getResult().getFieldErrors().containsKey("email")
+                        && e.getResult().getFieldErrors().containsKey("password");
+            }
+            System.out.println("Test erreur de validation: " + okError);
+        } catch (Exception e) {
+            System.out.println("Test erreur de validation: false (" + e + ")");
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package testFramework.com.testframework.controller;
 
+import framework.annotation.Cacheable;
 import framework.annotation.RestController;
 import framework.annotation.RequestMapping;
 import framework.annotation.GetMapping;
+import framework.annotation.PostMapping;
+import framework.annotation.RequestBody;
 import framework.annotation.ResponseBody;
 import testFramework.com.testframework.model.*;
 //import testFramework.com.testFramework.model.Departement;
@@ -12,6 +15,7 @@ import testFramework.com.testframework.model.*;
 public class EmployeRestController {
     
     @GetMapping("/employes")
+    @Cacheable(ttl = 60)
     public Employee[] getAllEmployes() {
         Employee emp1=new Employee();
         emp1.setEmail("valy@gmail.com");
@@ -26,4 +30,10 @@ public class EmployeRestController {
         emp.setNom("Test");
         return emp;
     }
+
+    // Corps JSON lié directement: {"nom": "Bob", "age": 41, "dept": 2}
+    @PostMapping("/employe")
+    public EmployeDTO createEmploye(@RequestBody EmployeDTO employe) {
+        return employe;
+    }
 }
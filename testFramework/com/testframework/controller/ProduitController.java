@@ -1,14 +1,18 @@
 package testFramework.com.testframework.controller;
 
+import framework.annotation.Cacheable;
 import framework.annotation.Controller;
 import framework.annotation.GetMapping;
 import framework.annotation.PathVariable;
+import framework.annotation.SingleFlight;
 import framework.utilitaire.ModelAndView;
 
 @Controller
 public class ProduitController {
 
     @GetMapping("/produits/{id}")
+    @Cacheable(ttl = 300, key = "id")
+    @SingleFlight(key = "id", timeout = 2000)
     public ModelAndView detail(@PathVariable("id") int id) {
         ModelAndView mv = new ModelAndView("produit-detail");
         mv.addObject("title", "Détail produit")
@@ -2,16 +2,12 @@ package testFramework.com.testframework.controller;
 
 import framework.annotation.Controller;
 import framework.annotation.GetMapping;
+import framework.annotation.ModelAttribute;
 import framework.annotation.PostMapping;
-import framework.utilitaire.FormMapper;
 import framework.utilitaire.ModelAndView;
+import framework.utilitaire.ValidationResult;
 import testFramework.com.testframework.model.UserForm;
 
-import jakarta.servlet.http.HttpServletRequest;
-
-import java.util.HashMap;
-import java.util.Map;
-
 @Controller
 public class UserController {
 
@@ -23,21 +19,12 @@ public class UserController {
     }
 
     @PostMapping("/users/register")
-    public ModelAndView handleRegistration(HttpServletRequest request) {
-        Map<String, String[]> paramMap = request.getParameterMap();
-        Map<String, Object> simpleMap = new HashMap<>();
-        for (Map.Entry<String, String[]> e : paramMap.entrySet()) {
-            String[] vals = e.getValue();
-            simpleMap.put(e.getKey(), (vals != null && vals.length > 0) ? vals[0] : null);
-        }
-
-        UserForm form = FormMapper.map(simpleMap, UserForm.class);
-        boolean valid = form.isValid();
-
+    public ModelAndView handleRegistration(@ModelAttribute UserForm form, ValidationResult result) {
+        // form déjà lié et validé selon ses annotations; les erreurs sont dans result
         ModelAndView mv = new ModelAndView("user-form");
         mv.addObject("user", form);
-        mv.addObject("valid", valid);
-        mv.addObject("errors", form.getLastValidationResult() != null ? form.getLastValidationResult().getFieldErrors() : java.util.Collections.emptyMap());
+        mv.addObject("valid", result.isValid());
+        mv.addObject("errors", result.getFieldErrors());
         return mv;
     }
 }
@@ -1,13 +1,22 @@
 package testFramework.com.testframework.model;
 
+import framework.annotation.Email;
+import framework.annotation.MinLength;
+import framework.annotation.NotBlank;
+import framework.utilitaire.BeanValidator;
 import framework.utilitaire.ValidationResult;
 
 public class UserForm {
 
+    @NotBlank(message = "Username is required")
     private String username;
 
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email format is invalid")
     private String email;
 
+    @NotBlank(message = "Password is required")
+    @MinLength(value = 6, message = "Password must be at least 6 characters")
     private String password;
 
     private ValidationResult lastValidationResult;
@@ -37,24 +46,7 @@ public class UserForm {
     }
 
     public boolean isValid() {
-        ValidationResult vr = new ValidationResult();
-
-        if (username == null || username.trim().isEmpty()) {
-            vr.addError("username", "Username is required");
-        }
-
-        if (email == null || email.trim().isEmpty()) {
-            vr.addError("email", "Email is required");
-        } else if (!email.contains("@") || !email.contains(".")) {
-            vr.addError("email", "Email format is invalid");
-        }
-
-        if (password == null || password.trim().isEmpty()) {
-            vr.addError("password", "Password is required");
-        } else if (password.length() < 6) {
-            vr.addError("password", "Password must be at least 6 characters");
-        }
-
+        ValidationResult vr = BeanValidator.validate(this);
         this.lastValidationResult = vr;
         return vr.isValid();
     }